@@ -0,0 +1,133 @@
+package sh.miles.artisan.util;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A table of canonical string instances. Repeated symbols such as class paths and member names can be interned
+ * through the table so each distinct symbol is retained only once, which also lets equality checks short-circuit on
+ * identity.
+ * <p>
+ * Regions of a {@link CharSequence} can be interned without first copying them into a new string. A table is
+ * usually created per parse, however, it is safe to share a single table across files and threads.
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class ArtisanSymbolTable {
+
+    private @Nullable String[] symbols;
+    private int size = 0;
+
+    /**
+     * Creates a new empty symbol table
+     *
+     * @since 1.1.0
+     */
+    public ArtisanSymbolTable() {
+        this(64);
+    }
+
+    /**
+     * Creates a new empty symbol table
+     *
+     * @param expectedSymbols the amount of distinct symbols to initially make room for
+     * @since 1.1.0
+     */
+    public ArtisanSymbolTable(int expectedSymbols) {
+        int capacity = 16;
+        while (capacity < expectedSymbols * 2) {
+            capacity <<= 1;
+        }
+        this.symbols = new String[capacity];
+    }
+
+    /**
+     * Interns the provided symbol
+     *
+     * @param symbol the symbol to intern
+     * @return the canonical instance of the symbol
+     * @since 1.1.0
+     */
+    public synchronized String intern(String symbol) {
+        final int hash = symbol.hashCode();
+        int index = hash & (this.symbols.length - 1);
+        String candidate;
+        while ((candidate = this.symbols[index]) != null) {
+            if (candidate.hashCode() == hash && candidate.equals(symbol)) {
+                return candidate;
+            }
+            index = (index + 1) & (this.symbols.length - 1);
+        }
+
+        insert(index, symbol);
+        return symbol;
+    }
+
+    /**
+     * Interns a region of the provided sequence, a new string is only created if the region was never interned
+     *
+     * @param sequence the sequence containing the symbol
+     * @param start    the start index of the symbol, inclusive
+     * @param end      the end index of the symbol, exclusive
+     * @return the canonical instance of the symbol
+     * @since 1.1.0
+     */
+    public synchronized String intern(CharSequence sequence, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + sequence.charAt(i);
+        }
+
+        int index = hash & (this.symbols.length - 1);
+        String candidate;
+        while ((candidate = this.symbols[index]) != null) {
+            if (candidate.hashCode() == hash && regionEquals(candidate, sequence, start, end)) {
+                return candidate;
+            }
+            index = (index + 1) & (this.symbols.length - 1);
+        }
+
+        final String symbol = sequence.subSequence(start, end).toString();
+        insert(index, symbol);
+        return symbol;
+    }
+
+    /**
+     * Gets the amount of distinct symbols in this table
+     *
+     * @return the amount of symbols
+     * @since 1.1.0
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    private void insert(final int index, final String symbol) {
+        this.symbols[index] = symbol;
+        if (++this.size * 2 > this.symbols.length) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        final String[] previous = this.symbols;
+        this.symbols = new String[previous.length * 2];
+        for (final String symbol : previous) {
+            if (symbol == null) continue;
+            int index = symbol.hashCode() & (this.symbols.length - 1);
+            while (this.symbols[index] != null) {
+                index = (index + 1) & (this.symbols.length - 1);
+            }
+            this.symbols[index] = symbol;
+        }
+    }
+
+    private static boolean regionEquals(final String candidate, final CharSequence sequence, final int start, final int end) {
+        if (candidate.length() != end - start) return false;
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != sequence.charAt(start + i)) return false;
+        }
+        return true;
+    }
+}
@@ -149,6 +149,31 @@ public final class ArtisanUtils {
         return collection;
     }
 
+    /**
+     * Simple string split without regex overhead, every split value is interned through the provided symbol table so
+     * repeated values share a single instance
+     *
+     * @param target            target to split
+     * @param split             the char to split on
+     * @param expectedSplitSize expected size of split for marginally improved performance
+     * @param symbols           the symbol table to intern split values through
+     * @return the split values
+     * @since 1.1.0
+     */
+    public static List<String> simpleSplit(String target, char split, int expectedSplitSize, ArtisanSymbolTable symbols) {
+        final List<String> collection = new ArrayList<>(expectedSplitSize);
+        int start = 0;
+        for (int i = 0; i < target.length(); i++) {
+            if (target.charAt(i) == split) {
+                collection.add(symbols.intern(target, start, i));
+                start = i + 1;
+            }
+        }
+
+        collection.add(symbols.intern(target, start, target.length()));
+        return collection;
+    }
+
     /**
      * Simple method to append chars to builder from integer value
      *
@@ -41,7 +41,7 @@ public record JvmClasspath(byte type, String path, @Nullable String name, @Nulla
      * @since 1.0.0
      */
     public String dotpath() {
-        return path.replaceAll("/", ".");
+        return path.replace('/', '.');
     }
 
     /**
@@ -0,0 +1,366 @@
+package sh.miles.artisan.util.log;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link ArtisanLogger} that hands messages to a background thread instead of writing them on the calling thread.
+ * Messages are appended to a bounded lock-free ring buffer, and a single thread drains the buffer in batches into a
+ * delegate logger, {@link ArtisanLogger#flush() flushing} the delegate once per batch. Pairing this logger with a
+ * {@link ArtisanPrintStreamLogger} over a stream that does not flush on every line writes each batch at once.
+ * <p>
+ * Messages logged by one thread are always written in the order they were logged, and the delegate is never called
+ * from two threads at once. When the buffer is full the {@link OverflowPolicy} decides whether the message is dropped
+ * or the logging thread waits for space, either way the amount of dropped messages is counted. Messages the delegate
+ * fails to write are counted as well. Messages logged after {@link #close()}, or after the background thread died from
+ * an {@link Error} thrown by the delegate, are written directly to the delegate on the logging thread
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class ArtisanAsyncLogger implements ArtisanLogger, AutoCloseable {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int SPIN_ATTEMPTS = 64;
+
+    private final ArtisanLogger delegate;
+    private final OverflowPolicy policy;
+    private final int mask;
+    private final AtomicReferenceArray<@Nullable LogRecord> records;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final Object writeLock = new Object(); // held by whoever is writing to the delegate
+    private final Thread drain;
+    private long head = 0; // only accessed while holding the write lock
+    private volatile long flushed = 0;
+    private volatile boolean closed = false;
+    private volatile boolean stopped = false;
+
+    private ArtisanAsyncLogger(final ArtisanLogger delegate, final int capacity, final OverflowPolicy policy) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.mask = capacity - 1;
+        this.records = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.sequences.set(i, i);
+        }
+
+        this.drain = new Thread(this::drain, "Artisan Async Logger");
+        this.drain.setDaemon(true);
+    }
+
+    @Override
+    public void info(final String message) {
+        append(Level.INFO, message, null);
+    }
+
+    @Override
+    public void warn(final String message) {
+        append(Level.WARN, message, null);
+    }
+
+    @Override
+    public void debug(final String message) {
+        append(Level.DEBUG, message, null);
+    }
+
+    @Override
+    public void error(final String message) {
+        append(Level.ERROR, message, null);
+    }
+
+    @Override
+    public void throwing(final String message, final Throwable throwable) {
+        append(Level.THROWING, message, throwable);
+    }
+
+    /**
+     * Waits until every message logged before this call was written and the delegate was flushed
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public void flush() {
+        final long target = this.tail.get();
+        int attempt = 0;
+        while (this.flushed < target) {
+            if (this.stopped) {
+                synchronized (this.writeLock) {
+                    writeQueued();
+                    flushDelegate();
+                }
+                return;
+            }
+
+            LockSupport.unpark(this.drain);
+            attempt = backoff(attempt);
+        }
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return delegate.isInfoEnabled();
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return delegate.isWarnEnabled();
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return delegate.isDebugEnabled();
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return delegate.isErrorEnabled();
+    }
+
+    /**
+     * Gets the amount of messages that were dropped because the buffer was full
+     *
+     * @return the amount of dropped messages
+     * @since 1.1.0
+     */
+    public long dropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Gets the amount of messages and flushes the delegate threw an exception for
+     *
+     * @return the amount of failed writes
+     * @since 1.1.0
+     */
+    public long failures() {
+        return this.failures.sum();
+    }
+
+    /**
+     * Writes every buffered message and stops the background thread. Waiting for the background thread can not be
+     * interrupted, the interrupt status of the calling thread is restored once the logger is closed
+     *
+     * @since 1.1.0
+     */
+    @Override
+    public synchronized void close() {
+        if (this.closed) return;
+        this.closed = true;
+        LockSupport.unpark(this.drain);
+        boolean interrupted = false;
+        while (true) {
+            try {
+                this.drain.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        // the drain thread is gone, from now on whoever holds the write lock drains the buffer
+        try {
+            stop();
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private void append(final Level level, final String message, @Nullable final Throwable throwable) {
+        final LogRecord record = new LogRecord(level, message, throwable);
+        int attempt = 0;
+        while (!this.stopped) {
+            if (offer(record)) {
+                if (this.stopped) { // the drain may have stopped before seeing the record
+                    synchronized (this.writeLock) {
+                        writeQueued();
+                    }
+                }
+                return;
+            }
+
+            if (this.policy == OverflowPolicy.DROP) {
+                this.dropped.increment();
+                return;
+            }
+
+            LockSupport.unpark(this.drain);
+            attempt = backoff(attempt);
+        }
+
+        // records queued before the drain stopped are written first to keep the order of this thread
+        synchronized (this.writeLock) {
+            writeQueued();
+            write(record);
+        }
+    }
+
+    private boolean offer(final LogRecord record) {
+        long position = this.tail.get();
+        while (true) {
+            final int index = (int) (position & this.mask);
+            final long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.records.set(index, record);
+                    this.sequences.set(index, position + 1);
+                    return true;
+                }
+                position = this.tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    @Nullable
+    private LogRecord poll() {
+        final int index = (int) (this.head & this.mask);
+        if (this.sequences.get(index) != this.head + 1) {
+            return null;
+        }
+
+        final LogRecord record = this.records.get(index);
+        this.records.set(index, null);
+        this.sequences.set(index, this.head + this.mask + 1);
+        this.head++;
+        return record;
+    }
+
+    private int writeQueued() {
+        int written = 0;
+        LogRecord record;
+        while ((record = poll()) != null) {
+            write(record);
+            written++;
+        }
+        return written;
+    }
+
+    private void write(final LogRecord record) {
+        try {
+            record.write(this.delegate);
+        } catch (RuntimeException e) {
+            this.failures.increment();
+        }
+    }
+
+    private void flushDelegate() {
+        try {
+            this.delegate.flush();
+        } catch (RuntimeException e) {
+            this.failures.increment();
+        }
+        this.flushed = this.head;
+    }
+
+    private void stop() {
+        synchronized (this.writeLock) {
+            this.stopped = true;
+            writeQueued();
+            flushDelegate();
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                final boolean closing = this.closed;
+                final boolean idle;
+                synchronized (this.writeLock) {
+                    idle = writeQueued() == 0;
+                    if (!idle) {
+                        flushDelegate();
+                    } else if (closing && this.tail.get() == this.head) {
+                        return;
+                    }
+                }
+
+                if (idle) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+        } finally {
+            // however the drain thread exits, logging threads take over writing the buffer
+            stop();
+        }
+    }
+
+    private static int backoff(final int attempt) {
+        if (attempt < SPIN_ATTEMPTS) {
+            Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(Math.min(IDLE_PARK_NANOS, 1000L << Math.min(attempt - SPIN_ATTEMPTS, 20)));
+        }
+        return attempt + 1;
+    }
+
+    /**
+     * Decides what happens to a message logged while the buffer is full
+     *
+     * @since 1.1.0
+     */
+    public enum OverflowPolicy {
+        /**
+         * The message is dropped and counted
+         *
+         * @since 1.1.0
+         */
+        DROP,
+        /**
+         * The logging thread waits until the background thread frees space in the buffer
+         *
+         * @since 1.1.0
+         */
+        BLOCK
+    }
+
+    private enum Level {
+        INFO, WARN, DEBUG, ERROR, THROWING
+    }
+
+    private record LogRecord(Level level, String message, @Nullable Throwable throwable) {
+
+        void write(final ArtisanLogger logger) {
+            switch (this.level) {
+                case INFO -> logger.info(this.message);
+                case WARN -> logger.warn(this.message);
+                case DEBUG -> logger.debug(this.message);
+                case ERROR -> logger.error(this.message);
+                case THROWING -> logger.throwing(this.message, this.throwable);
+            }
+        }
+    }
+
+    /**
+     * Creates a new async logger and starts its background thread
+     *
+     * @param delegate the logger messages are written to on the background thread
+     * @param capacity the amount of messages the buffer holds, rounded up to a power of two
+     * @param policy   what happens to messages logged while the buffer is full
+     * @return the logger
+     * @throws IllegalArgumentException thrown if the capacity is less than 1 or larger than 2^30
+     * @since 1.1.0
+     */
+    public static ArtisanAsyncLogger create(ArtisanLogger delegate, int capacity, OverflowPolicy policy) throws IllegalArgumentException {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity must be between 1 and 2^30 was given %d".formatted(capacity));
+        }
+
+        final ArtisanAsyncLogger logger = new ArtisanAsyncLogger(delegate, capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1, policy);
+        logger.drain.start();
+        return logger;
+    }
+}
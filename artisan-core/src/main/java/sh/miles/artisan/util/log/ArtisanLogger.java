@@ -1,9 +1,15 @@
 package sh.miles.artisan.util.log;
 
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.util.function.Supplier;
 
 /**
  * Represents a logger for this project, which can be used to provide output
+ * <p>
+ * Messages that are expensive to build should be logged through the {@link Supplier} or parameterized overloads, or
+ * guarded by a level check such as {@link #isInfoEnabled()}, so nothing is built when the level is disabled
  *
  * @since 1.0.0
  */
@@ -47,4 +53,184 @@ public interface ArtisanLogger {
      * @param throwable the exception to display
      */
     void throwing(String message, Throwable throwable);
+
+    /**
+     * Writes out any messages this logger has buffered
+     *
+     * @since 1.1.0
+     */
+    default void flush() {
+    }
+
+    /**
+     * Checks whether messages printed to the info stream are written anywhere
+     *
+     * @return true if info messages are enabled, otherwise false
+     * @since 1.1.0
+     */
+    default boolean isInfoEnabled() {
+        return true;
+    }
+
+    /**
+     * Prints a message to the info stream, the message is only built if info messages are enabled
+     *
+     * @param message supplies the message to print
+     * @since 1.1.0
+     */
+    default void info(Supplier<String> message) {
+        if (isInfoEnabled()) info(message.get());
+    }
+
+    /**
+     * Prints a formatted message to the info stream, the message is only formatted if info messages are enabled
+     *
+     * @param format the format of the message as in {@link String#formatted(Object...)}
+     * @param arg    the argument of the format
+     * @since 1.1.0
+     */
+    default void info(String format, @Nullable Object arg) {
+        if (isInfoEnabled()) info(format.formatted(arg));
+    }
+
+    /**
+     * Prints a formatted message to the info stream, the message is only formatted if info messages are enabled
+     *
+     * @param format the format of the message as in {@link String#formatted(Object...)}
+     * @param arg1   the first argument of the format
+     * @param arg2   the second argument of the format
+     * @since 1.1.0
+     */
+    default void info(String format, @Nullable Object arg1, @Nullable Object arg2) {
+        if (isInfoEnabled()) info(format.formatted(arg1, arg2));
+    }
+
+    /**
+     * Checks whether messages printed to the warn stream are written anywhere
+     *
+     * @return true if warn messages are enabled, otherwise false
+     * @since 1.1.0
+     */
+    default boolean isWarnEnabled() {
+        return true;
+    }
+
+    /**
+     * Prints a message to the warn stream, the message is only built if warn messages are enabled
+     *
+     * @param message supplies the message to print
+     * @since 1.1.0
+     */
+    default void warn(Supplier<String> message) {
+        if (isWarnEnabled()) warn(message.get());
+    }
+
+    /**
+     * Prints a formatted message to the warn stream, the message is only formatted if warn messages are enabled
+     *
+     * @param format the format of the message as in {@link String#formatted(Object...)}
+     * @param arg    the argument of the format
+     * @since 1.1.0
+     */
+    default void warn(String format, @Nullable Object arg) {
+        if (isWarnEnabled()) warn(format.formatted(arg));
+    }
+
+    /**
+     * Prints a formatted message to the warn stream, the message is only formatted if warn messages are enabled
+     *
+     * @param format the format of the message as in {@link String#formatted(Object...)}
+     * @param arg1   the first argument of the format
+     * @param arg2   the second argument of the format
+     * @since 1.1.0
+     */
+    default void warn(String format, @Nullable Object arg1, @Nullable Object arg2) {
+        if (isWarnEnabled()) warn(format.formatted(arg1, arg2));
+    }
+
+    /**
+     * Checks whether messages printed to the debug stream are written anywhere
+     *
+     * @return true if debug messages are enabled, otherwise false
+     * @since 1.1.0
+     */
+    default boolean isDebugEnabled() {
+        return true;
+    }
+
+    /**
+     * Prints a message to the debug stream, the message is only built if debug messages are enabled
+     *
+     * @param message supplies the message to print
+     * @since 1.1.0
+     */
+    default void debug(Supplier<String> message) {
+        if (isDebugEnabled()) debug(message.get());
+    }
+
+    /**
+     * Prints a formatted message to the debug stream, the message is only formatted if debug messages are enabled
+     *
+     * @param format the format of the message as in {@link String#formatted(Object...)}
+     * @param arg    the argument of the format
+     * @since 1.1.0
+     */
+    default void debug(String format, @Nullable Object arg) {
+        if (isDebugEnabled()) debug(format.formatted(arg));
+    }
+
+    /**
+     * Prints a formatted message to the debug stream, the message is only formatted if debug messages are enabled
+     *
+     * @param format the format of the message as in {@link String#formatted(Object...)}
+     * @param arg1   the first argument of the format
+     * @param arg2   the second argument of the format
+     * @since 1.1.0
+     */
+    default void debug(String format, @Nullable Object arg1, @Nullable Object arg2) {
+        if (isDebugEnabled()) debug(format.formatted(arg1, arg2));
+    }
+
+    /**
+     * Checks whether messages printed to the error stream are written anywhere
+     *
+     * @return true if error messages are enabled, otherwise false
+     * @since 1.1.0
+     */
+    default boolean isErrorEnabled() {
+        return true;
+    }
+
+    /**
+     * Prints a message to the error stream, the message is only built if error messages are enabled
+     *
+     * @param message supplies the message to print
+     * @since 1.1.0
+     */
+    default void error(Supplier<String> message) {
+        if (isErrorEnabled()) error(message.get());
+    }
+
+    /**
+     * Prints a formatted message to the error stream, the message is only formatted if error messages are enabled
+     *
+     * @param format the format of the message as in {@link String#formatted(Object...)}
+     * @param arg    the argument of the format
+     * @since 1.1.0
+     */
+    default void error(String format, @Nullable Object arg) {
+        if (isErrorEnabled()) error(format.formatted(arg));
+    }
+
+    /**
+     * Prints a formatted message to the error stream, the message is only formatted if error messages are enabled
+     *
+     * @param format the format of the message as in {@link String#formatted(Object...)}
+     * @param arg1   the first argument of the format
+     * @param arg2   the second argument of the format
+     * @since 1.1.0
+     */
+    default void error(String format, @Nullable Object arg1, @Nullable Object arg2) {
+        if (isErrorEnabled()) error(format.formatted(arg1, arg2));
+    }
 }
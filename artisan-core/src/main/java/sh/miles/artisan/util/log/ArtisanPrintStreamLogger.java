@@ -48,4 +48,9 @@ public class ArtisanPrintStreamLogger implements ArtisanLogger {
         stream.println(message);
         throwable.printStackTrace(this.stream);
     }
+
+    @Override
+    public void flush() {
+        stream.flush();
+    }
 }
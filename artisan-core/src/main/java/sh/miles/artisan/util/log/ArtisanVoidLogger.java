@@ -17,6 +17,26 @@ public class ArtisanVoidLogger implements ArtisanLogger {
     public void error(final String message) {
     }
 
+    @Override
+    public boolean isInfoEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return false;
+    }
+
     @Override
     public void throwing(final String message, final Throwable throwable) {
     }
@@ -0,0 +1,172 @@
+package sh.miles.artisan.util.metrics;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Receives counters and timers from the parse and transform pipelines of this project. Metrics are identified by name,
+ * the names recorded by Artisan itself are declared as constants of this interface.
+ * <p>
+ * Recording a metric must be cheap and safe to call from many threads at once. Callers check {@link #isEnabled()}
+ * before reading the clock or building a metric name, so the {@link ArtisanVoidMetrics} default costs nothing
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public interface ArtisanMetrics {
+
+    /**
+     * Time spent tokenizing {@code .ajex} content into tokens
+     *
+     * @since 1.1.0
+     */
+    String FORMAT_TOKENIZE = "format.tokenize";
+    /**
+     * Time spent building syntax trees from {@code .ajex} content
+     *
+     * @since 1.1.0
+     */
+    String FORMAT_TREE = "format.tree";
+    /**
+     * Time spent parsing {@code .ajex} content into parse events
+     *
+     * @since 1.1.0
+     */
+    String FORMAT_PARSE = "format.parse";
+    /**
+     * Amount of {@code .ajex} bytes read from files
+     *
+     * @since 1.1.0
+     */
+    String FORMAT_BYTES = "format.bytes";
+    /**
+     * Time spent compiling plans, which includes parsing literals into handlers
+     *
+     * @since 1.1.0
+     */
+    String PLAN_COMPILE = "plan.compile";
+    /**
+     * Prefix of the amount of literals parsed per container, followed by the container name
+     *
+     * @since 1.1.0
+     */
+    String LITERALS_PREFIX = "literals.";
+    /**
+     * Prefix of the time spent per handler visiting classes, followed by the container name of the handler
+     *
+     * @since 1.1.0
+     */
+    String HANDLER_PREFIX = "handler.";
+    /**
+     * Amount of classes handed to a plan
+     *
+     * @since 1.1.0
+     */
+    String CLASSES_SCANNED = "classes.scanned";
+    /**
+     * Amount of classes at least one handler modifies
+     *
+     * @since 1.1.0
+     */
+    String CLASSES_MATCHED = "classes.matched";
+    /**
+     * Amount of matched classes whose transformed bytes differ from the input
+     *
+     * @since 1.1.0
+     */
+    String CLASSES_MODIFIED = "classes.modified";
+    /**
+     * Amount of classes returned untouched because no handler modifies them
+     *
+     * @since 1.1.0
+     */
+    String CLASSES_PASSED = "classes.passed";
+    /**
+     * Amount of class bytes handed to a plan
+     *
+     * @since 1.1.0
+     */
+    String BYTES_IN = "bytes.in";
+    /**
+     * Amount of class bytes returned from a plan or written by a creator
+     *
+     * @since 1.1.0
+     */
+    String BYTES_OUT = "bytes.out";
+    /**
+     * Time spent reading class headers and routing them to their handlers
+     *
+     * @since 1.1.0
+     */
+    String CLASS_READ = "class.read";
+    /**
+     * Time spent patching access flags of classes in place
+     *
+     * @since 1.1.0
+     */
+    String CLASS_PATCH = "class.patch";
+    /**
+     * Time spent streaming classes through the visitors of their handlers
+     *
+     * @since 1.1.0
+     */
+    String CLASS_STREAM = "class.stream";
+    /**
+     * Time spent building class nodes for handlers that can only visit trees
+     *
+     * @since 1.1.0
+     */
+    String CLASS_NODE = "class.node";
+    /**
+     * Time spent writing class nodes back to bytes
+     *
+     * @since 1.1.0
+     */
+    String CLASS_WRITE = "class.write";
+
+    /**
+     * Checks whether this sink records anything. Nothing needs to be measured if this returns false
+     *
+     * @return true if metrics are recorded, otherwise false
+     * @since 1.1.0
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Adds to a counter
+     *
+     * @param name   the name of the counter
+     * @param amount the amount to add
+     * @since 1.1.0
+     */
+    void count(String name, long amount);
+
+    /**
+     * Records a single measurement of a timer
+     *
+     * @param name  the name of the timer
+     * @param nanos the measured time in nanoseconds
+     * @since 1.1.0
+     */
+    void time(String name, long nanos);
+
+    /**
+     * Records a measurement of a timer that started at the provided {@link System#nanoTime()}
+     *
+     * @param name  the name of the timer
+     * @param start the {@link System#nanoTime()} the measurement started at
+     * @since 1.1.0
+     */
+    default void timeSince(String name, long start) {
+        time(name, System.nanoTime() - start);
+    }
+
+    /**
+     * Takes a point in time copy of every metric recorded so far
+     *
+     * @return the snapshot
+     * @since 1.1.0
+     */
+    ArtisanMetricsSnapshot snapshot();
+}
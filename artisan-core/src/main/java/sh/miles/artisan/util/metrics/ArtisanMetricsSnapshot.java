@@ -0,0 +1,134 @@
+package sh.miles.artisan.util.metrics;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A point in time copy of the metrics of an {@link ArtisanMetrics}. Snapshots are immutable, two snapshots of the same
+ * recorder can be subtracted through {@link #since(ArtisanMetricsSnapshot)} to compare runs
+ *
+ * @param counters the value of every counter by name, in name order
+ * @param timers   every timer by name, in name order
+ * @since 1.1.0
+ */
+@NullMarked
+public record ArtisanMetricsSnapshot(Map<String, Long> counters, Map<String, TimerSnapshot> timers) {
+
+    /**
+     * A snapshot without any metrics
+     *
+     * @since 1.1.0
+     */
+    public static final ArtisanMetricsSnapshot EMPTY = new ArtisanMetricsSnapshot(Map.of(), Map.of());
+
+    /**
+     * Creates a new snapshot
+     *
+     * @param counters the value of every counter by name
+     * @param timers   every timer by name
+     * @since 1.1.0
+     */
+    public ArtisanMetricsSnapshot {
+        counters = Collections.unmodifiableMap(new TreeMap<>(counters));
+        timers = Collections.unmodifiableMap(new TreeMap<>(timers));
+    }
+
+    /**
+     * Gets the value of a counter
+     *
+     * @param name the name of the counter
+     * @return the value of the counter, or 0 if it was never recorded
+     * @since 1.1.0
+     */
+    public long counter(String name) {
+        return this.counters.getOrDefault(name, 0L);
+    }
+
+    /**
+     * Gets a timer
+     *
+     * @param name the name of the timer
+     * @return the timer, or {@link TimerSnapshot#EMPTY} if it was never recorded
+     * @since 1.1.0
+     */
+    public TimerSnapshot timer(String name) {
+        return this.timers.getOrDefault(name, TimerSnapshot.EMPTY);
+    }
+
+    /**
+     * Subtracts an earlier snapshot of the same recorder from this snapshot, leaving only what was recorded in between.
+     * The maximum of each timer is kept from this snapshot
+     *
+     * @param earlier the earlier snapshot
+     * @return the difference between both snapshots
+     * @since 1.1.0
+     */
+    public ArtisanMetricsSnapshot since(ArtisanMetricsSnapshot earlier) {
+        final Map<String, Long> counters = new TreeMap<>();
+        for (final Map.Entry<String, Long> entry : this.counters.entrySet()) {
+            counters.put(entry.getKey(), entry.getValue() - earlier.counter(entry.getKey()));
+        }
+
+        final Map<String, TimerSnapshot> timers = new TreeMap<>();
+        for (final Map.Entry<String, TimerSnapshot> entry : this.timers.entrySet()) {
+            final TimerSnapshot current = entry.getValue();
+            final TimerSnapshot previous = earlier.timer(entry.getKey());
+            timers.put(entry.getKey(), new TimerSnapshot(current.count() - previous.count(), current.totalNanos() - previous.totalNanos(), current.maxNanos()));
+        }
+
+        return new ArtisanMetricsSnapshot(counters, timers);
+    }
+
+    /**
+     * Exports every metric as one {@code name value} line per value in name order. Each timer is exported as its
+     * {@code .count}, {@code .total_ns} and {@code .max_ns}
+     *
+     * @return the exported metrics
+     * @since 1.1.0
+     */
+    public String export() {
+        final Map<String, Long> values = new TreeMap<>(this.counters);
+        for (final Map.Entry<String, TimerSnapshot> entry : this.timers.entrySet()) {
+            values.put(entry.getKey() + ".count", entry.getValue().count());
+            values.put(entry.getKey() + ".total_ns", entry.getValue().totalNanos());
+            values.put(entry.getKey() + ".max_ns", entry.getValue().maxNanos());
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        for (final Map.Entry<String, Long> entry : values.entrySet()) {
+            builder.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A point in time copy of a timer
+     *
+     * @param count      the amount of measurements
+     * @param totalNanos the sum of every measurement in nanoseconds
+     * @param maxNanos   the longest measurement in nanoseconds
+     * @since 1.1.0
+     */
+    public record TimerSnapshot(long count, long totalNanos, long maxNanos) {
+
+        /**
+         * A timer without any measurements
+         *
+         * @since 1.1.0
+         */
+        public static final TimerSnapshot EMPTY = new TimerSnapshot(0, 0, 0);
+
+        /**
+         * Gets the average measurement
+         *
+         * @return the average in nanoseconds, or 0 if nothing was measured
+         * @since 1.1.0
+         */
+        public long meanNanos() {
+            return this.count == 0 ? 0 : this.totalNanos / this.count;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package sh.miles.artisan.util.metrics;
+
+import org.jspecify.annotations.NullMarked;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link ArtisanMetrics} that keeps every metric in memory. Counters and timers are striped, so threads recording
+ * the same metric do not contend with each other
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class ArtisanRecordingMetrics implements ArtisanMetrics {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new empty recorder
+     *
+     * @since 1.1.0
+     */
+    public ArtisanRecordingMetrics() {
+    }
+
+    @Override
+    public void count(final String name, final long amount) {
+        this.counters.computeIfAbsent(name, (k) -> new LongAdder()).add(amount);
+    }
+
+    @Override
+    public void time(final String name, final long nanos) {
+        final Timer timer = this.timers.computeIfAbsent(name, (k) -> new Timer());
+        timer.count.increment();
+        timer.total.add(nanos);
+        timer.max.accumulate(nanos);
+    }
+
+    @Override
+    public ArtisanMetricsSnapshot snapshot() {
+        final Map<String, Long> counters = new TreeMap<>();
+        for (final Map.Entry<String, LongAdder> entry : this.counters.entrySet()) {
+            counters.put(entry.getKey(), entry.getValue().sum());
+        }
+
+        final Map<String, ArtisanMetricsSnapshot.TimerSnapshot> timers = new TreeMap<>();
+        for (final Map.Entry<String, Timer> entry : this.timers.entrySet()) {
+            final Timer timer = entry.getValue();
+            timers.put(entry.getKey(), new ArtisanMetricsSnapshot.TimerSnapshot(timer.count.sum(), timer.total.sum(), timer.max.get()));
+        }
+
+        return new ArtisanMetricsSnapshot(counters, timers);
+    }
+
+    /**
+     * Clears every metric recorded so far
+     *
+     * @since 1.1.0
+     */
+    public void reset() {
+        this.counters.clear();
+        this.timers.clear();
+    }
+
+    private static final class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    }
+}
@@ -0,0 +1,30 @@
+package sh.miles.artisan.util.metrics;
+
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * An {@link ArtisanMetrics} that records nothing
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public class ArtisanVoidMetrics implements ArtisanMetrics {
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public void count(final String name, final long amount) {
+    }
+
+    @Override
+    public void time(final String name, final long nanos) {
+    }
+
+    @Override
+    public ArtisanMetricsSnapshot snapshot() {
+        return ArtisanMetricsSnapshot.EMPTY;
+    }
+}
@@ -0,0 +1,41 @@
+package sh.miles.artisan.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanSymbolTableTest {
+
+    @Test
+    public void testInternReturnsCanonicalInstance() {
+        final ArtisanSymbolTable symbols = new ArtisanSymbolTable();
+        final String first = symbols.intern(new String("sh/miles/Example"));
+        final String second = symbols.intern(new String("sh/miles/Example"));
+        assertSame(first, second);
+        assertEquals(1, symbols.size());
+    }
+
+    @Test
+    public void testInternRegion() {
+        final ArtisanSymbolTable symbols = new ArtisanSymbolTable();
+        final String canonical = symbols.intern("sh/miles/Example");
+        final StringBuilder line = new StringBuilder("public sh/miles/Example dog()V");
+        assertSame(canonical, symbols.intern(line, 7, 23));
+        assertEquals("dog()V", symbols.intern(line, 24, line.length()));
+        assertEquals(2, symbols.size());
+    }
+
+    @Test
+    public void testInternGrows() {
+        final ArtisanSymbolTable symbols = new ArtisanSymbolTable(1);
+        for (int i = 0; i < 1000; i++) {
+            symbols.intern("symbol" + i);
+        }
+
+        assertEquals(1000, symbols.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("symbol" + i, symbols.intern("symbol" + i));
+        }
+        assertEquals(1000, symbols.size());
+    }
+}
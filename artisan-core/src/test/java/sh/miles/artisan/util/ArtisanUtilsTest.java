@@ -53,4 +53,14 @@ public class ArtisanUtilsTest {
         assertEquals("qwertqwert", result.get(1));
         assertEquals("fdsafdsa", result.get(2));
     }
+
+    @Test
+    public void testSimpleSplitInterned() {
+        final ArtisanSymbolTable symbols = new ArtisanSymbolTable();
+        final List<String> first = ArtisanUtils.simpleSplit("public sh/miles/Example dog", ' ', 3, symbols);
+        final List<String> second = ArtisanUtils.simpleSplit("private sh/miles/Example cat", ' ', 3, symbols);
+        assertEquals(List.of("public", "sh/miles/Example", "dog"), first);
+        assertEquals(List.of("private", "sh/miles/Example", "cat"), second);
+        assertSame(first.get(1), second.get(1));
+    }
 }
@@ -0,0 +1,224 @@
+package sh.miles.artisan.util.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanAsyncLoggerTest {
+
+    @Test
+    public void testKeepsPerThreadOrderWhenBlocking() throws InterruptedException {
+        final RecordingLogger recording = new RecordingLogger(null);
+        final int threads = 4;
+        final int messages = 2000;
+        try (final ArtisanAsyncLogger logger = ArtisanAsyncLogger.create(recording, 16, ArtisanAsyncLogger.OverflowPolicy.BLOCK)) {
+            final List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                workers.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < messages; i++) {
+                        logger.info(thread + ":" + i);
+                    }
+                }));
+            }
+
+            for (final Thread worker : workers) {
+                worker.join();
+            }
+            assertEquals(0, logger.dropped());
+        }
+
+        final int[] next = new int[threads];
+        for (final String message : recording.messages) {
+            final int split = message.indexOf(':');
+            final int thread = Integer.parseInt(message.substring(0, split));
+            assertEquals(next[thread]++, Integer.parseInt(message.substring(split + 1)));
+        }
+        assertEquals(threads * messages, recording.messages.size());
+        assertTrue(recording.flushes > 0);
+    }
+
+    @Test
+    public void testDropsWhenFull() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final RecordingLogger recording = new RecordingLogger(release);
+        final ArtisanAsyncLogger logger = ArtisanAsyncLogger.create(recording, 4, ArtisanAsyncLogger.OverflowPolicy.DROP);
+        for (int i = 0; i < 64; i++) {
+            logger.warn("message " + i);
+        }
+        release.countDown();
+        logger.close();
+
+        assertTrue(logger.dropped() > 0);
+        assertEquals(64, recording.messages.size() + logger.dropped());
+        assertEquals("message 0", recording.messages.getFirst());
+
+        logger.error("after close");
+        assertEquals("after close", recording.messages.getLast());
+    }
+
+    @Test
+    public void testKeepsOrderWhileClosing() throws InterruptedException {
+        final RecordingLogger recording = new RecordingLogger(null);
+        final ArtisanAsyncLogger logger = ArtisanAsyncLogger.create(recording, 8, ArtisanAsyncLogger.OverflowPolicy.BLOCK);
+        final int threads = 4;
+        final int messages = 5000;
+        final List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            workers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < messages; i++) {
+                    logger.info(thread + ":" + i);
+                }
+            }));
+        }
+
+        logger.close();
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+
+        final int[] next = new int[threads];
+        synchronized (recording) {
+            for (final String message : recording.messages) {
+                final int split = message.indexOf(':');
+                final int thread = Integer.parseInt(message.substring(0, split));
+                assertEquals(next[thread]++, Integer.parseInt(message.substring(split + 1)));
+            }
+            assertEquals(threads * messages, recording.messages.size());
+        }
+    }
+
+    @Test
+    public void testFlushWaitsForQueuedMessages() {
+        final RecordingLogger recording = new RecordingLogger(null);
+        try (final ArtisanAsyncLogger logger = ArtisanAsyncLogger.create(recording, 64, ArtisanAsyncLogger.OverflowPolicy.BLOCK)) {
+            for (int i = 0; i < 1000; i++) {
+                logger.info("message " + i);
+            }
+            logger.flush();
+            synchronized (recording) {
+                assertEquals(1000, recording.messages.size());
+                assertTrue(recording.flushes > 0);
+            }
+        }
+    }
+
+    @Test
+    public void testCountsDelegateFailures() {
+        final RecordingLogger recording = new RecordingLogger(null) {
+            @Override
+            public void error(final String message) {
+                throw new IllegalStateException(message);
+            }
+        };
+        try (final ArtisanAsyncLogger logger = ArtisanAsyncLogger.create(recording, 2, ArtisanAsyncLogger.OverflowPolicy.BLOCK)) {
+            for (int i = 0; i < 100; i++) {
+                logger.error("failure " + i);
+                logger.info("message " + i);
+            }
+            logger.flush();
+            assertEquals(100, logger.failures());
+            synchronized (recording) {
+                assertEquals(100, recording.messages.size());
+            }
+        }
+    }
+
+    @Test
+    public void testClosesWhenInterrupted() {
+        final RecordingLogger recording = new RecordingLogger(null);
+        final ArtisanAsyncLogger logger = ArtisanAsyncLogger.create(recording, 4, ArtisanAsyncLogger.OverflowPolicy.BLOCK);
+        for (int i = 0; i < 100; i++) {
+            logger.info("message " + i);
+        }
+
+        Thread.currentThread().interrupt();
+        logger.close();
+        assertTrue(Thread.interrupted());
+        logger.info("after close");
+        logger.flush();
+        synchronized (recording) {
+            assertEquals(101, recording.messages.size());
+            assertEquals("after close", recording.messages.getLast());
+        }
+    }
+
+    @Test
+    public void testKeepsWritingAfterDelegateError() {
+        final RecordingLogger recording = new RecordingLogger(null) {
+            @Override
+            public void error(final String message) {
+                throw new AssertionError(message);
+            }
+        };
+        try (final ArtisanAsyncLogger logger = ArtisanAsyncLogger.create(recording, 4, ArtisanAsyncLogger.OverflowPolicy.BLOCK)) {
+            logger.error("fatal");
+            for (int i = 0; i < 100; i++) {
+                logger.info("message " + i);
+            }
+            logger.flush();
+            synchronized (recording) {
+                assertEquals(100, recording.messages.size());
+            }
+        }
+    }
+
+    private static class RecordingLogger implements ArtisanLogger {
+
+        private final List<String> messages = new ArrayList<>();
+        private final CountDownLatch release;
+        private int flushes = 0;
+
+        RecordingLogger(final CountDownLatch release) {
+            this.release = release;
+        }
+
+        private void record(final String message) {
+            if (this.release != null) {
+                try {
+                    this.release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            synchronized (this) {
+                this.messages.add(message);
+            }
+        }
+
+        @Override
+        public void info(final String message) {
+            record(message);
+        }
+
+        @Override
+        public void warn(final String message) {
+            record(message);
+        }
+
+        @Override
+        public void debug(final String message) {
+            record(message);
+        }
+
+        @Override
+        public void error(final String message) {
+            record(message);
+        }
+
+        @Override
+        public void throwing(final String message, final Throwable throwable) {
+            record(message);
+        }
+
+        @Override
+        public synchronized void flush() {
+            this.flushes++;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package sh.miles.artisan.util.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanLoggerTest {
+
+    @Test
+    public void testDisabledLevelsBuildNothing() {
+        final ArtisanLogger logger = new ArtisanVoidLogger();
+        assertFalse(logger.isInfoEnabled());
+        assertFalse(logger.isDebugEnabled());
+        logger.info(() -> fail("The message of a disabled level must not be built"));
+        logger.debug("%s", new Object() {
+            @Override
+            public String toString() {
+                return fail("The message of a disabled level must not be formatted");
+            }
+        });
+    }
+
+    @Test
+    public void testEnabledLevelsFormatLazily() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final ArtisanLogger logger = new ArtisanPrintStreamLogger(new PrintStream(output, true, StandardCharsets.UTF_8));
+        assertTrue(logger.isWarnEnabled());
+        logger.info(() -> "supplied");
+        logger.warn("one %s", "arg");
+        logger.error("%s and %s", "first", "second");
+        assertEquals("supplied%n[WARN] one arg%n[ERROR] first and second%n".formatted(), output.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,49 @@
+package sh.miles.artisan.util.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanRecordingMetricsTest {
+
+    @Test
+    public void testSnapshotAndExport() {
+        final ArtisanRecordingMetrics metrics = new ArtisanRecordingMetrics();
+        metrics.count(ArtisanMetrics.CLASSES_SCANNED, 2);
+        metrics.time(ArtisanMetrics.CLASS_READ, 10);
+        metrics.time(ArtisanMetrics.CLASS_READ, 30);
+        final ArtisanMetricsSnapshot first = metrics.snapshot();
+
+        metrics.count(ArtisanMetrics.CLASSES_SCANNED, 3);
+        metrics.time(ArtisanMetrics.CLASS_READ, 20);
+        final ArtisanMetricsSnapshot second = metrics.snapshot();
+
+        assertEquals(2, first.counter(ArtisanMetrics.CLASSES_SCANNED));
+        assertEquals(new ArtisanMetricsSnapshot.TimerSnapshot(2, 40, 30), first.timer(ArtisanMetrics.CLASS_READ));
+        assertEquals(20, first.timer(ArtisanMetrics.CLASS_READ).meanNanos());
+        assertEquals(0, first.counter(ArtisanMetrics.BYTES_IN));
+
+        final ArtisanMetricsSnapshot difference = second.since(first);
+        assertEquals(3, difference.counter(ArtisanMetrics.CLASSES_SCANNED));
+        assertEquals(1, difference.timer(ArtisanMetrics.CLASS_READ).count());
+        assertEquals(20, difference.timer(ArtisanMetrics.CLASS_READ).totalNanos());
+
+        assertEquals("""
+                class.read.count 2
+                class.read.max_ns 30
+                class.read.total_ns 40
+                classes.scanned 2
+                """, first.export());
+
+        metrics.reset();
+        assertTrue(metrics.snapshot().counters().isEmpty());
+    }
+
+    @Test
+    public void testVoidMetricsRecordNothing() {
+        final ArtisanMetrics metrics = new ArtisanVoidMetrics();
+        assertFalse(metrics.isEnabled());
+        metrics.count(ArtisanMetrics.CLASSES_SCANNED, 1);
+        assertSame(ArtisanMetricsSnapshot.EMPTY, metrics.snapshot());
+    }
+}
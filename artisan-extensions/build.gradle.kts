@@ -13,3 +13,18 @@ dependencies {
 
     testImplementation(project(":artisan-core", "test"))
 }
+
+tasks.jar {
+    val runtimeClasspath = configurations.runtimeClasspath
+    inputs.files(runtimeClasspath)
+    manifest {
+        attributes(
+            "Premain-Class" to "sh.miles.artisan.agent.ArtisanAgent",
+            "Agent-Class" to "sh.miles.artisan.agent.ArtisanAgent"
+        )
+    }
+    // the agent jar loads its dependencies from jars next to it
+    doFirst {
+        manifest.attributes("Class-Path" to runtimeClasspath.get().joinToString(" ") { it.name })
+    }
+}
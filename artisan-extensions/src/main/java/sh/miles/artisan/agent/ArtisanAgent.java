@@ -0,0 +1,166 @@
+package sh.miles.artisan.agent;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import sh.miles.artisan.ArtisanExtensions;
+import sh.miles.artisan.asm.ArtisanClassEditor;
+import sh.miles.artisan.asm.TransformationPlan;
+import sh.miles.artisan.extension.ArtisanExtension;
+import sh.miles.artisan.util.ArtisanUtils;
+import sh.miles.artisan.util.log.ArtisanLogger;
+import sh.miles.artisan.util.log.ArtisanPrintStreamLogger;
+
+import java.io.File;
+import java.lang.instrument.Instrumentation;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * A java agent that applies {@code .ajex} files to classes as they are loaded instead of rewriting jars ahead of time.
+ * The agent is given a list of {@code .ajex} files separated by {@link File#pathSeparator}, e.g.
+ * {@code -javaagent:artisan-extensions.jar=first.ajex:second.ajex}.
+ * <p>
+ * Every file is compiled into a {@link TransformationPlan} with the default extensions of {@link ArtisanExtensions}
+ * as well as any {@link ArtisanExtension} provided through a {@link ServiceLoader}. Warnings and handler failures are
+ * reported to {@link System#err}, and the amount of transformed classes and the cumulative transform time is reported
+ * when the JVM shuts down
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class ArtisanAgent {
+
+    private ArtisanAgent() {
+        throw ArtisanUtils.utilityClass(getClass());
+    }
+
+    /**
+     * Entry point of the agent when loaded through {@code -javaagent}
+     *
+     * @param arguments       the {@code .ajex} files to apply separated by {@link File#pathSeparator}
+     * @param instrumentation the instrumentation of the JVM
+     * @since 1.1.0
+     */
+    public static void premain(@Nullable String arguments, Instrumentation instrumentation) {
+        final ArtisanLogger logger = new ArtisanPrintStreamLogger(System.err);
+        final List<TransformationPlan> plans = compile(arguments, logger);
+        if (plans.isEmpty()) {
+            logger.warn("No .ajex files were provided to the Artisan agent so no transformations will occur, was this intended?");
+            return;
+        }
+
+        final ArtisanClassFileTransformer transformer = install(instrumentation, plans, logger);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> logger.info(
+                "Artisan transformed %d classes in %d ms", transformer.transformedClasses(), transformer.transformTime().toMillis()
+        ), "Artisan Agent Report"));
+    }
+
+    /**
+     * Entry point of the agent when attached to a running JVM. Only classes loaded after the agent is attached are
+     * transformed
+     *
+     * @param arguments       the {@code .ajex} files to apply separated by {@link File#pathSeparator}
+     * @param instrumentation the instrumentation of the JVM
+     * @since 1.1.0
+     */
+    public static void agentmain(@Nullable String arguments, Instrumentation instrumentation) {
+        premain(arguments, instrumentation);
+    }
+
+    /**
+     * Registers a transformer applying the provided plans to every class loaded from now on
+     *
+     * @param instrumentation the instrumentation to register the transformer to
+     * @param plans           the plans to apply
+     * @param logger          the logger that transformation failures are reported to
+     * @return the registered transformer
+     * @since 1.1.0
+     */
+    public static ArtisanClassFileTransformer install(Instrumentation instrumentation, List<TransformationPlan> plans, ArtisanLogger logger) {
+        final ArtisanClassFileTransformer transformer = new ArtisanClassFileTransformer(plans, logger);
+        instrumentation.addTransformer(transformer);
+        return transformer;
+    }
+
+    private static List<TransformationPlan> compile(@Nullable final String arguments, final ArtisanLogger logger) {
+        if (arguments == null || arguments.isBlank()) {
+            return List.of();
+        }
+
+        // handler failures are caught by the plans themselves, so only their progress messages are left out
+        final ArtisanClassEditor editor = ArtisanExtensions.newDefaultEditor().logger(new FailureLogger(logger));
+        for (final ArtisanExtension extension : ServiceLoader.load(ArtisanExtension.class, ArtisanAgent.class.getClassLoader())) {
+            try {
+                editor.extension(extension);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Skipping extension %s as an extension with the same name is already registered", extension.name());
+            }
+        }
+
+        final List<TransformationPlan> plans = new ArrayList<>();
+        for (final String file : ArtisanUtils.simpleSplit(arguments, File.pathSeparatorChar, 1)) {
+            if (file.isBlank()) continue;
+            plans.add(editor.syntaxFile(Path.of(file)).compile());
+        }
+
+        return plans;
+    }
+
+    /**
+     * Forwards warnings and errors to a delegate and drops everything else
+     *
+     * @param delegate the logger to forward to
+     */
+    private record FailureLogger(ArtisanLogger delegate) implements ArtisanLogger {
+
+        @Override
+        public void info(final String message) {
+        }
+
+        @Override
+        public void warn(final String message) {
+            this.delegate.warn(message);
+        }
+
+        @Override
+        public void debug(final String message) {
+        }
+
+        @Override
+        public void error(final String message) {
+            this.delegate.error(message);
+        }
+
+        @Override
+        public void throwing(final String message, final Throwable throwable) {
+            this.delegate.throwing(message, throwable);
+        }
+
+        @Override
+        public void flush() {
+            this.delegate.flush();
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return false;
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return this.delegate.isWarnEnabled();
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return this.delegate.isErrorEnabled();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package sh.miles.artisan.agent;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import sh.miles.artisan.asm.TransformationPlan;
+import sh.miles.artisan.util.log.ArtisanLogger;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.security.ProtectionDomain;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ClassFileTransformer} that applies one or more {@link TransformationPlan}s to classes as they are loaded.
+ * Classes no plan targets are skipped through {@link TransformationPlan#targets(String)} before they are read.
+ * <p>
+ * The time spent transforming classes is accumulated so the cost of the transformer can be reported
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class ArtisanClassFileTransformer implements ClassFileTransformer {
+
+    private final List<TransformationPlan> plans;
+    private final ArtisanLogger logger;
+    private final LongAdder transformNanos = new LongAdder();
+    private final LongAdder transformed = new LongAdder();
+
+    /**
+     * Creates a new transformer
+     *
+     * @param plans  the plans applied in order to every class they target
+     * @param logger the logger that transformation failures are reported to
+     * @since 1.1.0
+     */
+    public ArtisanClassFileTransformer(List<TransformationPlan> plans, ArtisanLogger logger) {
+        this.plans = List.copyOf(plans);
+        this.logger = logger;
+    }
+
+    @Override
+    public byte @Nullable [] transform(@Nullable final ClassLoader loader, @Nullable final String className, @Nullable final Class<?> classBeingRedefined, @Nullable final ProtectionDomain protectionDomain, final byte[] classfileBuffer) {
+        if (className == null || !isTargeted(className)) {
+            return null;
+        }
+
+        final long start = System.nanoTime();
+        try {
+            byte[] bytes = classfileBuffer;
+            for (final TransformationPlan plan : this.plans) {
+                if (plan.targets(className)) {
+                    bytes = plan.transform(bytes);
+                }
+            }
+
+            if (bytes == classfileBuffer) {
+                return null;
+            }
+
+            this.transformed.increment();
+            return bytes;
+        } catch (Throwable throwable) {
+            // the jvm silently discards exceptions thrown by transformers
+            logger.throwing("Unable to transform %s leaving it untouched".formatted(className), throwable);
+            return null;
+        } finally {
+            this.transformNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private boolean isTargeted(final String className) {
+        for (final TransformationPlan plan : this.plans) {
+            if (plan.targets(className)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the cumulative time spent transforming targeted classes across all threads
+     *
+     * @return the total transform time
+     * @since 1.1.0
+     */
+    public Duration transformTime() {
+        return Duration.ofNanos(this.transformNanos.sum());
+    }
+
+    /**
+     * Gets the amount of classes that were changed by this transformer
+     *
+     * @return the amount of transformed classes
+     * @since 1.1.0
+     */
+    public long transformedClasses() {
+        return this.transformed.sum();
+    }
+}
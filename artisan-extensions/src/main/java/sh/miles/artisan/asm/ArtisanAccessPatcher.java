@@ -0,0 +1,70 @@
+package sh.miles.artisan.asm;
+
+import org.jspecify.annotations.NullMarked;
+import org.objectweb.asm.ClassReader;
+import sh.miles.artisan.extension.AccessFlagHandler.AccessPatch;
+import sh.miles.artisan.util.ArtisanUtils;
+
+/**
+ * Patches the {@code access_flags} of fields and methods directly within the bytes of a class file. The field and
+ * method tables are walked once using the constant pool already indexed by a {@link ClassReader}, every other byte of
+ * the class is left untouched.
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+final class ArtisanAccessPatcher {
+
+    private ArtisanAccessPatcher() {
+        throw ArtisanUtils.utilityClass(getClass());
+    }
+
+    /**
+     * Applies the provided patch to every field and method of the class
+     *
+     * @param classBytes the bytes of the class, which are not modified
+     * @param reader     the reader created from the class bytes
+     * @param patch      the patch to apply
+     * @return a patched copy of the class bytes, or the provided bytes if no flags changed
+     * @since 1.1.0
+     */
+    static byte[] patch(final byte[] classBytes, final ClassReader reader, final AccessPatch patch) {
+        final char[] buffer = new char[reader.getMaxStringLength()];
+        byte[] patched = null;
+
+        // access_flags, this_class, super_class then the interfaces table
+        int offset = reader.header + 6;
+        offset += 2 + reader.readUnsignedShort(offset) * 2;
+        for (int table = 0; table < 2; table++) {
+            final boolean method = table == 1;
+            int count = reader.readUnsignedShort(offset);
+            offset += 2;
+            while (count-- > 0) {
+                final int access = reader.readUnsignedShort(offset);
+                final String name = reader.readUTF8(offset + 2, buffer);
+                final String descriptor = reader.readUTF8(offset + 4, buffer);
+                final int result = patch.apply(access, name, descriptor, method) & 0xFFFF;
+                if (result != access) {
+                    if (patched == null) patched = classBytes.clone();
+                    patched[offset] = (byte) (result >>> 8);
+                    patched[offset + 1] = (byte) result;
+                }
+
+                offset = skipAttributes(reader, offset + 6);
+            }
+        }
+
+        return patched == null ? classBytes : patched;
+    }
+
+    private static int skipAttributes(final ClassReader reader, final int offset) {
+        int current = offset;
+        int attributes = reader.readUnsignedShort(current);
+        current += 2;
+        while (attributes-- > 0) {
+            current += 6 + reader.readInt(current + 2);
+        }
+
+        return current;
+    }
+}
@@ -6,22 +6,22 @@ import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
+import sh.miles.artisan.ArtisanFormat;
 import sh.miles.artisan.extension.ArtisanExtension;
-import sh.miles.artisan.extension.ContainerHandler;
+import sh.miles.artisan.parser.event.ArtisanEventHandler;
 import sh.miles.artisan.util.JvmClasspath;
 import sh.miles.artisan.util.log.ArtisanLogger;
+import sh.miles.artisan.util.metrics.ArtisanMetrics;
+import sh.miles.artisan.util.metrics.ArtisanVoidMetrics;
 import sh.miles.artisan.visitor.ArtisanNodeReader;
-import sh.miles.artisan.visitor.LiteralResult;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Consumer;
 
 /**
@@ -38,9 +38,11 @@ public final class ArtisanClassCreator {
     private ClassNode node = new ClassNode();
     private Path output;
     private ArtisanLogger logger;
+    private ArtisanMetrics metrics = new ArtisanVoidMetrics();
     private ArtisanNodeReader syntaxTreeReader;
-    private Set<ContainerHandler> containers = new HashSet<>();
-    private boolean hasPreRun = false;
+    private Consumer<ArtisanEventHandler> syntaxSource;
+    private TransformationPlan plan;
+    private ArtisanClassHierarchy hierarchy;
 
     /**
      * Creates a new class creator
@@ -128,6 +130,7 @@ public final class ArtisanClassCreator {
         }
 
         this.extensions.put(extension.name(), extension);
+        this.plan = null;
         return this;
     }
 
@@ -143,6 +146,19 @@ public final class ArtisanClassCreator {
         return this;
     }
 
+    /**
+     * Sets the hierarchy common super classes are resolved from while computing frames. By default classes are read
+     * from the resources of the class loader that loaded Artisan, without loading them
+     *
+     * @param hierarchy the hierarchy
+     * @return this creator
+     * @since 1.1.0
+     */
+    public ArtisanClassCreator hierarchy(ArtisanClassHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+        return this;
+    }
+
     /**
      * Adds a logger to this builder
      *
@@ -152,6 +168,21 @@ public final class ArtisanClassCreator {
      */
     public ArtisanClassCreator logger(ArtisanLogger logger) {
         this.logger = logger;
+        this.plan = null;
+        return this;
+    }
+
+    /**
+     * Sets the metrics parsing the syntax of this creator, compiling it and generating classes is recorded to, by
+     * default nothing is recorded
+     *
+     * @param metrics the metrics to record to
+     * @return this creator
+     * @since 1.1.0
+     */
+    public ArtisanClassCreator metrics(ArtisanMetrics metrics) {
+        this.metrics = metrics;
+        this.plan = null;
         return this;
     }
 
@@ -164,7 +195,39 @@ public final class ArtisanClassCreator {
      */
     public ArtisanClassCreator syntaxTreeReader(ArtisanNodeReader syntaxTreeReader) {
         this.syntaxTreeReader = syntaxTreeReader;
-        this.hasPreRun = false;
+        this.syntaxSource = null;
+        this.plan = null;
+        return this;
+    }
+
+    /**
+     * Sets a stream of {@code .ajex} content as the syntax for this creator. Unlike
+     * {@link #syntaxTreeReader(ArtisanNodeReader)} no syntax tree is built, instead literals are routed straight into
+     * the matching handlers while the stream is parsed. The stream is consumed the first time this creator is run
+     *
+     * @param stream the stream of {@code .ajex} content
+     * @return this creator
+     * @since 1.1.0
+     */
+    public ArtisanClassCreator syntaxStream(InputStream stream) {
+        this.syntaxSource = (handler) -> ArtisanFormat.parse(stream, handler, this.metrics);
+        this.syntaxTreeReader = null;
+        this.plan = null;
+        return this;
+    }
+
+    /**
+     * Sets a {@code .ajex} file as the syntax for this creator. Unlike {@link #syntaxTreeReader(ArtisanNodeReader)}
+     * no syntax tree is built, instead literals are routed straight into the matching handlers while the file is parsed
+     *
+     * @param path the {@code .ajex} file
+     * @return this creator
+     * @since 1.1.0
+     */
+    public ArtisanClassCreator syntaxFile(Path path) {
+        this.syntaxSource = (handler) -> ArtisanFormat.parse(path, handler, this.metrics);
+        this.syntaxTreeReader = null;
+        this.plan = null;
         return this;
     }
 
@@ -180,28 +243,32 @@ public final class ArtisanClassCreator {
             logger.warn("No extensions were provided so no transformations occurred, was this intended?");
         }
 
-        if (this.syntaxTreeReader == null) {
-            throw new IllegalArgumentException("Must provide a non null syntax reader");
+        if (this.syntaxTreeReader == null && this.syntaxSource == null) {
+            throw new IllegalArgumentException("Must provide a non null syntax reader or syntax source");
         }
 
-        preRun();
+        if (this.plan == null) {
+            this.plan = this.syntaxSource != null
+                    ? TransformationPlan.compile(this.syntaxSource, this.extensions.values(), this.logger, this.metrics)
+                    : TransformationPlan.compile(this.syntaxTreeReader, this.extensions.values(), this.logger, this.metrics);
+        }
 
         ArtisanClassUtil.simpleValidate(this.node);
         final JvmClasspath classpath = new JvmClasspath(JvmClasspath.CLASS, node.name, null, null);
-        final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
-        for (final ContainerHandler handler : this.containers) {
-            try {
-                if (handler.doesModify(classpath)) {
-                    handler.visit(node, classpath, this.logger);
-                    logger.info("Finished applying visitor for class %s within container %s".formatted(classpath.dotpath(), handler.containerName()));
-                }
-            } catch (Exception e) {
-                logger.throwing("Unable to apply handler with exception", e);
-            }
+        if (this.hierarchy == null) {
+            this.hierarchy = ArtisanClassHierarchy.create();
         }
+        final ClassWriter writer = new ArtisanClassWriter(ClassWriter.COMPUTE_FRAMES, this.hierarchy);
+        this.plan.visit(node, classpath, null);
 
+        final long start = this.metrics.isEnabled() ? System.nanoTime() : 0L;
         node.accept(writer);
-        return writer.toByteArray();
+        final byte[] bytes = writer.toByteArray();
+        if (this.metrics.isEnabled()) {
+            this.metrics.timeSince(ArtisanMetrics.CLASS_WRITE, start);
+            this.metrics.count(ArtisanMetrics.BYTES_OUT, bytes.length);
+        }
+        return bytes;
     }
 
     /**
@@ -224,29 +291,4 @@ public final class ArtisanClassCreator {
             throw new RuntimeException(e);
         }
     }
-
-    private void preRun() {
-        if (hasPreRun) {
-            return;
-        }
-
-        final Set<String> contaierNames = new HashSet<>(syntaxTreeReader.getContainers());
-        for (final ArtisanExtension extension : this.extensions.values()) {
-            logger.debug("Gathering Containers from extension %s".formatted(extension.name()));
-            for (final ContainerHandler handler : extension.buildHandlers()) {
-                if (!contaierNames.contains(handler.containerName())) {
-                    logger.debug("Skipping container %s from %s".formatted(handler.containerName(), extension.name()));
-                }
-
-                final List<LiteralResult> literals = this.syntaxTreeReader.getLiterals(handler.containerName());
-                for (final LiteralResult literal : literals) {
-                    handler.parse(literal, this.logger);
-                }
-
-                this.containers.add(handler);
-            }
-        }
-
-        hasPreRun = true;
-    }
 }
@@ -2,29 +2,23 @@ package sh.miles.artisan.asm;
 
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
-import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.ClassWriter;
-import org.objectweb.asm.tree.ClassNode;
 import sh.miles.artisan.ArtisanExtensions;
+import sh.miles.artisan.ArtisanFormat;
 import sh.miles.artisan.extension.ArtisanExtension;
-import sh.miles.artisan.extension.ContainerHandler;
-import sh.miles.artisan.util.JvmClasspath;
+import sh.miles.artisan.parser.event.ArtisanEventHandler;
 import sh.miles.artisan.util.log.ArtisanLogger;
 import sh.miles.artisan.util.log.ArtisanVoidLogger;
+import sh.miles.artisan.util.metrics.ArtisanMetrics;
+import sh.miles.artisan.util.metrics.ArtisanVoidMetrics;
 import sh.miles.artisan.visitor.ArtisanNodeReader;
-import sh.miles.artisan.visitor.LiteralResult;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 /**
  * Bulk class editor that provides run logic to extensions as well as other options to tweak the run time such as
@@ -39,13 +33,18 @@ public final class ArtisanClassEditor {
     private final Map<String, ArtisanExtension> extensions = new HashMap<>();
     @Nullable
     private ArtisanNodeReader syntaxTreeReader;
+    @Nullable
+    private Consumer<ArtisanEventHandler> syntaxSource;
     private ArtisanLogger logger = new ArtisanVoidLogger();
+    private ArtisanMetrics metrics = new ArtisanVoidMetrics();
     @Nullable
     private Path clazzPath = null;
     private byte @Nullable [] clazzBytes = null;
 
-    private final Set<ContainerHandler> containers = new HashSet<>();
-    private boolean hasPreRun = false;
+    @Nullable
+    private ArtisanTransformCache cache = null;
+    @Nullable
+    private TransformationPlan plan = null;
 
     /**
      * Creates a class new editor. Should generally be accessed through {@link ArtisanExtensions#newEditor()} or
@@ -70,6 +69,7 @@ public final class ArtisanClassEditor {
         }
 
         this.extensions.put(extension.name(), extension);
+        this.plan = null;
         return this;
     }
 
@@ -126,6 +126,33 @@ public final class ArtisanClassEditor {
      */
     public ArtisanClassEditor logger(ArtisanLogger logger) {
         this.logger = logger;
+        this.plan = null;
+        return this;
+    }
+
+    /**
+     * Sets the metrics parsing the syntax of this editor, compiling it and transforming classes is recorded to, by
+     * default nothing is recorded
+     *
+     * @param metrics the metrics to record to
+     * @return this editor
+     * @since 1.1.0
+     */
+    public ArtisanClassEditor metrics(ArtisanMetrics metrics) {
+        this.metrics = metrics;
+        this.plan = null;
+        return this;
+    }
+
+    /**
+     * Sets a cache that is consulted before a class is transformed and stores every transformed class
+     *
+     * @param cache the cache to use, or null to always transform classes
+     * @return this editor
+     * @since 1.1.0
+     */
+    public ArtisanClassEditor cache(@Nullable ArtisanTransformCache cache) {
+        this.cache = cache;
         return this;
     }
 
@@ -138,29 +165,58 @@ public final class ArtisanClassEditor {
      */
     public ArtisanClassEditor syntaxTreeReader(ArtisanNodeReader syntaxTreeReader) {
         this.syntaxTreeReader = syntaxTreeReader;
-        this.hasPreRun = false;
+        this.syntaxSource = null;
+        this.plan = null;
+        return this;
+    }
+
+    /**
+     * Sets a stream of {@code .ajex} content as the syntax for this editor. Unlike
+     * {@link #syntaxTreeReader(ArtisanNodeReader)} no syntax tree is built, instead literals are routed straight into
+     * the matching handlers while the stream is parsed. The stream is consumed the first time this editor is run
+     *
+     * @param stream the stream of {@code .ajex} content
+     * @return this editor
+     * @since 1.1.0
+     */
+    public ArtisanClassEditor syntaxStream(InputStream stream) {
+        this.syntaxSource = (handler) -> ArtisanFormat.parse(stream, handler, this.metrics);
+        this.syntaxTreeReader = null;
+        this.plan = null;
+        return this;
+    }
+
+    /**
+     * Sets a {@code .ajex} file as the syntax for this editor. Unlike {@link #syntaxTreeReader(ArtisanNodeReader)}
+     * no syntax tree is built, instead literals are routed straight into the matching handlers while the file is parsed
+     *
+     * @param path the {@code .ajex} file
+     * @return this editor
+     * @since 1.1.0
+     */
+    public ArtisanClassEditor syntaxFile(Path path) {
+        this.syntaxSource = (handler) -> ArtisanFormat.parse(path, handler, this.metrics);
+        this.syntaxTreeReader = null;
+        this.plan = null;
         return this;
     }
 
     /**
      * Runs this class editor configuration
+     * <p>
+     * If a {@link #cache(ArtisanTransformCache) cache} is set the output is a copy of the cached entry, so it can be
+     * modified without affecting later runs
      *
      * @return the byte output, empty if there was an early return
      * @throws IllegalArgumentException thrown if no bytes were given
      * @since 1.0.0
      */
     public byte[] run() throws IllegalArgumentException {
-        if (this.extensions.isEmpty()) {
-            logger.warn("No extensions were provided so no transformations occurred, was this intended?");
+        final TransformationPlan plan = prepare();
+        if (plan == null) {
             return new byte[0];
         }
 
-        if (this.syntaxTreeReader == null) {
-            throw new IllegalArgumentException("No valid syntax tree reader was provided");
-        }
-
-        preRun();
-
         byte[] classBytes = clazzBytes;
         if (classBytes == null && this.clazzPath != null) {
             try {
@@ -172,54 +228,59 @@ public final class ArtisanClassEditor {
             throw new IllegalArgumentException("No file or bytes were given for this editor. So it can not be run");
         }
 
-        final ClassReader reader = new ClassReader(classBytes);
-        final ClassNode node = new ClassNode();
-        reader.accept(node, 0);
+        // cached arrays are shared with later hits, so callers get a copy they are free to modify
+        return this.cache == null ? plan.transform(classBytes) : this.cache.transform(plan, classBytes).clone();
+    }
 
-        boolean modified = false;
-        final JvmClasspath classpath = new JvmClasspath(JvmClasspath.CLASS, node.name, null, null);
-        final ClassWriter writer = new ClassWriter(reader, 0);
-        for (final ContainerHandler handler : this.containers) {
-            try {
-                if (handler.doesModify(classpath)) {
-                    handler.visit(node, classpath, this.logger);
-                    modified = true;
-                    logger.info("Finished applying visitor for class %s within container %s".formatted(classpath.dotpath(), handler.containerName()));
-                }
-            } catch (Exception e) {
-                logger.throwing("Unable to apply handler with exception", e);
-            }
+    /**
+     * Compiles the syntax and extensions of this editor into an immutable {@link TransformationPlan}, if it was not
+     * already compiled. The plan is kept until the syntax, extensions, logger or metrics of this editor change
+     *
+     * @return the compiled plan
+     * @throws IllegalArgumentException thrown if no syntax was provided
+     * @since 1.1.0
+     */
+    public TransformationPlan compile() throws IllegalArgumentException {
+        if (this.plan != null) {
+            return this.plan;
         }
 
-        node.accept(writer);
-        if (!modified) {
-            return classBytes;
+        if (this.syntaxSource != null) {
+            this.plan = TransformationPlan.compile(this.syntaxSource, this.extensions.values(), this.logger, this.metrics);
+        } else if (this.syntaxTreeReader != null) {
+            this.plan = TransformationPlan.compile(this.syntaxTreeReader, this.extensions.values(), this.logger, this.metrics);
+        } else {
+            throw new IllegalArgumentException("No valid syntax tree reader or syntax source was provided");
         }
-        return writer.toByteArray();
-    }
 
-    private void preRun() {
-        if (hasPreRun) {
-            return;
-        }
-
-        final Set<String> contaierNames = new HashSet<>(syntaxTreeReader.getContainers());
-        for (final ArtisanExtension extension : this.extensions.values()) {
-            logger.debug("Gathering Containers from extension %s".formatted(extension.name()));
-            for (final ContainerHandler handler : extension.buildHandlers()) {
-                if (!contaierNames.contains(handler.containerName())) {
-                    logger.debug("Skipping container %s from %s".formatted(handler.containerName(), extension.name()));
-                }
+        return this.plan;
+    }
 
-                final List<LiteralResult> literals = this.syntaxTreeReader.getLiterals(handler.containerName());
-                for (final LiteralResult literal : literals) {
-                    handler.parse(literal, this.logger);
-                }
+    /**
+     * Gets the cache of this editor
+     *
+     * @return the cache, or null if classes are always transformed
+     * @since 1.1.0
+     */
+    @Nullable
+    ArtisanTransformCache cache() {
+        return this.cache;
+    }
 
-                this.containers.add(handler);
-            }
+    /**
+     * Compiles the plan of this editor warning if there are no extensions to apply
+     *
+     * @return the compiled plan, or null if there are no extensions to apply
+     * @throws IllegalArgumentException thrown if no syntax was provided
+     * @since 1.1.0
+     */
+    @Nullable
+    TransformationPlan prepare() throws IllegalArgumentException {
+        if (this.extensions.isEmpty()) {
+            logger.warn("No extensions were provided so no transformations occurred, was this intended?");
+            return null;
         }
 
-        hasPreRun = true;
+        return compile();
     }
 }
@@ -0,0 +1,259 @@
+package sh.miles.artisan.asm;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * An index of the super class and interfaces of classes, read from the constant pool of class files without ever
+ * loading a class. Classes are indexed by scanning jars and directories, and classes that were not scanned can be
+ * resolved lazily from the resources of a {@link ClassLoader}, which reads the class file without defining it.
+ * <p>
+ * The index backs {@link ArtisanClassWriter} and can be used by handlers that need inheritance information. An index
+ * can be read and extended from many threads at once
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class ArtisanClassHierarchy {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final String OBJECT = "java/lang/Object";
+
+    private final Map<String, ClassEntry> entries = new ConcurrentHashMap<>();
+    private final Map<TypePair, String> commonSuperClasses = new ConcurrentHashMap<>();
+    @Nullable
+    private volatile ClassLoader fallback;
+
+    private ArtisanClassHierarchy() {
+    }
+
+    /**
+     * Indexes every class within a jar, zip file or directory
+     *
+     * @param path the jar, zip file or directory to scan
+     * @return this hierarchy
+     * @since 1.1.0
+     */
+    public ArtisanClassHierarchy scan(Path path) {
+        try {
+            if (Files.isDirectory(path)) {
+                try (final Stream<Path> files = Files.walk(path)) {
+                    for (final Path file : (Iterable<Path>) files::iterator) {
+                        if (!file.toString().endsWith(CLASS_FILE_EXTENSION)) continue;
+                        add(Files.readAllBytes(file));
+                    }
+                }
+                return this;
+            }
+
+            try (final ZipFile zip = new ZipFile(path.toFile())) {
+                for (final ZipEntry entry : Collections.list(zip.entries())) {
+                    if (!entry.getName().endsWith(CLASS_FILE_EXTENSION) || entry.getName().startsWith("META-INF/")) {
+                        continue;
+                    }
+
+                    try (final InputStream stream = zip.getInputStream(entry)) {
+                        add(stream.readAllBytes());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        return this;
+    }
+
+    /**
+     * Sets the class loader whose resources are read to resolve classes that were not scanned. Classes are only read
+     * as resources and never loaded
+     *
+     * @param loader the class loader, or null to only resolve scanned classes
+     * @return this hierarchy
+     * @since 1.1.0
+     */
+    public ArtisanClassHierarchy fallback(@Nullable ClassLoader loader) {
+        this.fallback = loader;
+        return this;
+    }
+
+    /**
+     * Indexes a single class reading only its constant pool and header
+     *
+     * @param classBytes the class
+     * @return the indexed entry
+     * @since 1.1.0
+     */
+    public ClassEntry add(byte[] classBytes) {
+        final ClassReader reader = new ClassReader(classBytes);
+        final ClassEntry entry = new ClassEntry(reader.getClassName(), reader.getSuperName(), List.of(reader.getInterfaces()), (reader.getAccess() & Opcodes.ACC_INTERFACE) != 0);
+        this.entries.put(entry.name(), entry);
+        return entry;
+    }
+
+    /**
+     * Gets the entry of a class, resolving it from the fallback class loader if it was not scanned
+     *
+     * @param name the internal name of the class
+     * @return the entry, or null if the class is unknown
+     * @since 1.1.0
+     */
+    @Nullable
+    public ClassEntry get(String name) {
+        final ClassEntry entry = this.entries.get(name);
+        if (entry != null) {
+            return entry;
+        }
+
+        final ClassLoader loader = this.fallback;
+        if (loader == null) {
+            return null;
+        }
+
+        try (final InputStream stream = loader.getResourceAsStream(name + CLASS_FILE_EXTENSION)) {
+            return stream == null ? null : add(stream.readAllBytes());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets every super class and interface of a class, super classes first from the nearest to {@code java/lang/Object}
+     * followed by all interfaces. Unknown classes end the walk of their branch
+     *
+     * @param name the internal name of the class
+     * @return the supertypes of the class
+     * @since 1.1.0
+     */
+    public List<String> supertypes(String name) {
+        final List<String> supertypes = new ArrayList<>();
+        final Set<String> interfaces = new HashSet<>();
+        final Deque<String> pending = new ArrayDeque<>();
+        ClassEntry current = get(name);
+        while (current != null) {
+            pending.addAll(current.interfaces());
+            if (current.superName() == null) break;
+            supertypes.add(current.superName());
+            current = get(current.superName());
+        }
+
+        final List<String> ordered = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            final String next = pending.poll();
+            if (!interfaces.add(next)) continue;
+            ordered.add(next);
+            final ClassEntry entry = get(next);
+            if (entry != null) pending.addAll(entry.interfaces());
+        }
+
+        supertypes.addAll(ordered);
+        return supertypes;
+    }
+
+    /**
+     * Checks whether a value of the other type can be assigned to the provided type
+     *
+     * @param type  the internal name of the type being assigned to
+     * @param other the internal name of the type being assigned
+     * @return true if other is the type or one of its subtypes, otherwise false
+     * @since 1.1.0
+     */
+    public boolean isAssignableFrom(String type, String other) {
+        return type.equals(other) || OBJECT.equals(type) || supertypes(other).contains(type);
+    }
+
+    /**
+     * Finds the nearest common super class of two types the same way as
+     * {@link org.objectweb.asm.ClassWriter#getCommonSuperClass(String, String)} without loading either type. Results
+     * are memoized
+     *
+     * @param type1 the internal name of the first type
+     * @param type2 the internal name of the second type
+     * @return the internal name of the common super class
+     * @throws TypeNotPresentException thrown if either type is unknown to this hierarchy
+     * @since 1.1.0
+     */
+    public String commonSuperClass(String type1, String type2) throws TypeNotPresentException {
+        if (type1.equals(type2)) {
+            return type1;
+        }
+
+        final TypePair key = new TypePair(type1, type2);
+        final String memoized = this.commonSuperClasses.get(key);
+        if (memoized != null) {
+            return memoized;
+        }
+
+        final String result = computeCommonSuperClass(type1, type2);
+        this.commonSuperClasses.put(key, result);
+        return result;
+    }
+
+    private String computeCommonSuperClass(final String type1, final String type2) {
+        final ClassEntry entry1 = require(type1);
+        final ClassEntry entry2 = require(type2);
+        if (isAssignableFrom(type1, type2)) return type1;
+        if (isAssignableFrom(type2, type1)) return type2;
+        if (entry1.isInterface() || entry2.isInterface()) return OBJECT;
+
+        String current = entry1.superName();
+        while (current != null) {
+            if (isAssignableFrom(current, type2)) return current;
+            current = require(current).superName();
+        }
+        return OBJECT;
+    }
+
+    private ClassEntry require(final String name) {
+        final ClassEntry entry = get(name);
+        if (entry == null) {
+            throw new TypeNotPresentException(name.replace('/', '.'), null);
+        }
+        return entry;
+    }
+
+    /**
+     * The header of an indexed class
+     *
+     * @param name        the internal name of the class
+     * @param superName   the internal name of the super class, or null for {@code java/lang/Object} and modules
+     * @param interfaces  the internal names of the directly implemented interfaces
+     * @param isInterface whether the class is an interface
+     * @since 1.1.0
+     */
+    public record ClassEntry(String name, @Nullable String superName, List<String> interfaces, boolean isInterface) {
+    }
+
+    private record TypePair(String type1, String type2) {
+    }
+
+    /**
+     * Creates an empty hierarchy that resolves classes that were not scanned from the resources of the class loader
+     * that loaded Artisan
+     *
+     * @return the hierarchy
+     * @since 1.1.0
+     */
+    public static ArtisanClassHierarchy create() {
+        return new ArtisanClassHierarchy().fallback(ArtisanClassHierarchy.class.getClassLoader());
+    }
+}
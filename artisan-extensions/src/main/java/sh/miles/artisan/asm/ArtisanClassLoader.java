@@ -0,0 +1,164 @@
+package sh.miles.artisan.asm;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.security.CodeSigner;
+import java.security.CodeSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Manifest;
+
+/**
+ * A class loader that transforms classes from jars or directories through a {@link TransformationPlan} as they are
+ * defined, for hosts where a java agent can not be used. Like its parent {@link URLClassLoader} this loader delegates
+ * to its parent first and only transforms classes it defines itself.
+ * <p>
+ * The loader is registered as parallel capable, so classes are loaded under a lock per class name rather than a lock
+ * on the loader. Transformed bytes are memoized by the location they were read from and can be shared with other
+ * loaders through {@link #ArtisanClassLoader(URL[], ClassLoader, ArtisanClassLoader)}, so reloading a class in a new
+ * loader does not transform it again.
+ * <p>
+ * Classes are defined with the jar or directory they were read from as their {@link CodeSource}, and packages of jars
+ * are defined from the manifest of their jar
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public class ArtisanClassLoader extends URLClassLoader {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+
+    static {
+        ClassLoader.registerAsParallelCapable();
+    }
+
+    private final TransformationPlan plan;
+    private final Map<String, byte[]> transformed;
+
+    /**
+     * Creates a new class loader
+     *
+     * @param urls   the jars and directories to load classes from
+     * @param parent the parent class loader
+     * @param plan   the plan applied to every class this loader defines
+     * @since 1.1.0
+     */
+    public ArtisanClassLoader(URL[] urls, @Nullable ClassLoader parent, TransformationPlan plan) {
+        super(urls, parent);
+        this.plan = plan;
+        this.transformed = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates a new class loader compiling the plan of the provided editor
+     *
+     * @param urls   the jars and directories to load classes from
+     * @param parent the parent class loader
+     * @param editor the editor whose extensions, syntax and logger are applied to every class this loader defines
+     * @throws IllegalArgumentException thrown if the editor was not provided any syntax
+     * @since 1.1.0
+     */
+    public ArtisanClassLoader(URL[] urls, @Nullable ClassLoader parent, ArtisanClassEditor editor) throws IllegalArgumentException {
+        this(urls, parent, editor.compile());
+    }
+
+    /**
+     * Creates a new class loader that shares the plan and the memoized class bytes of another loader, e.g. to reload
+     * classes or to create a child loader without transforming classes again
+     *
+     * @param urls    the jars and directories to load classes from
+     * @param parent  the parent class loader
+     * @param sharing the loader to share the plan and transformed bytes of
+     * @since 1.1.0
+     */
+    public ArtisanClassLoader(URL[] urls, @Nullable ClassLoader parent, ArtisanClassLoader sharing) {
+        super(urls, parent);
+        this.plan = sharing.plan;
+        this.transformed = sharing.transformed;
+    }
+
+    @Override
+    protected Class<?> findClass(final String name) throws ClassNotFoundException {
+        final String internalName = name.replace('.', '/');
+        final URL resource = findResource(internalName + CLASS_FILE_EXTENSION);
+        if (resource == null) {
+            throw new ClassNotFoundException(name);
+        }
+
+        final URL source;
+        final @Nullable Manifest manifest;
+        final byte[] bytes;
+        try {
+            final URLConnection connection = resource.openConnection();
+            if (connection instanceof JarURLConnection jar) {
+                source = jar.getJarFileURL();
+                manifest = jar.getManifest();
+            } else {
+                final String location = resource.toString();
+                source = URI.create(location.substring(0, location.length() - internalName.length() - CLASS_FILE_EXTENSION.length())).toURL();
+                manifest = null;
+            }
+            bytes = transform(internalName, resource, connection);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+
+        final int packageEnd = name.lastIndexOf('.');
+        if (packageEnd != -1) {
+            final String packageName = name.substring(0, packageEnd);
+            if (getDefinedPackage(packageName) == null) {
+                try {
+                    if (manifest == null) {
+                        definePackage(packageName, null, null, null, null, null, null, null);
+                    } else {
+                        definePackage(packageName, manifest, source);
+                    }
+                } catch (IllegalArgumentException ignored) {
+                    // defined concurrently by another class of the package
+                }
+            }
+        }
+
+        // transformed bytes would not match the signatures of a signed jar, so classes are defined without signers
+        return defineClass(name, bytes, 0, bytes.length, new CodeSource(source, (CodeSigner[]) null));
+    }
+
+    private byte[] transform(final String internalName, final URL resource, final URLConnection connection) throws IOException {
+        final String location = resource.toString();
+        final byte[] memoized = this.transformed.get(location);
+        if (memoized != null) {
+            return memoized;
+        }
+
+        final byte[] original;
+        try (final InputStream stream = connection.getInputStream()) {
+            original = stream.readAllBytes();
+        }
+
+        if (!this.plan.targets(internalName)) {
+            return original;
+        }
+
+        final byte[] result = this.plan.transform(original);
+        final byte[] existing = this.transformed.putIfAbsent(location, result);
+        return existing == null ? result : existing;
+    }
+
+    /**
+     * Gets the plan applied to every class this loader defines
+     *
+     * @return the plan
+     * @since 1.1.0
+     */
+    public TransformationPlan plan() {
+        return this.plan;
+    }
+}
@@ -0,0 +1,47 @@
+package sh.miles.artisan.asm;
+
+import org.jspecify.annotations.NullMarked;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+
+/**
+ * A {@link ClassWriter} that resolves common super classes while computing frames from an
+ * {@link ArtisanClassHierarchy} instead of loading classes through a class loader
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public class ArtisanClassWriter extends ClassWriter {
+
+    private final ArtisanClassHierarchy hierarchy;
+
+    /**
+     * Creates a new class writer
+     *
+     * @param flags     the {@link ClassWriter} flags
+     * @param hierarchy the hierarchy to resolve common super classes from
+     * @since 1.1.0
+     */
+    public ArtisanClassWriter(int flags, ArtisanClassHierarchy hierarchy) {
+        super(flags);
+        this.hierarchy = hierarchy;
+    }
+
+    /**
+     * Creates a new class writer that copies unchanged parts of the class from the reader
+     *
+     * @param reader    the reader of the class being edited
+     * @param flags     the {@link ClassWriter} flags
+     * @param hierarchy the hierarchy to resolve common super classes from
+     * @since 1.1.0
+     */
+    public ArtisanClassWriter(ClassReader reader, int flags, ArtisanClassHierarchy hierarchy) {
+        super(reader, flags);
+        this.hierarchy = hierarchy;
+    }
+
+    @Override
+    protected String getCommonSuperClass(final String type1, final String type2) {
+        return this.hierarchy.commonSuperClass(type1, type2);
+    }
+}
@@ -0,0 +1,30 @@
+package sh.miles.artisan.asm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event emitted around compiling a {@link TransformationPlan}, which parses every literal into the
+ * handlers of the plan before any class is run
+ *
+ * @since 1.1.0
+ */
+@Name("sh.miles.artisan.Compile")
+@Label("Artisan Compile")
+@Category({"Artisan", "Transform"})
+@Description("Compiling syntax and extensions into a transformation plan")
+@StackTrace(false)
+final class ArtisanCompileEvent extends Event {
+
+    @Label("Extensions")
+    @Description("The name and version of every extension of the plan")
+    String extensions;
+
+    @Label("Handlers")
+    @Description("The amount of handlers of the plan")
+    int handlers;
+}
@@ -0,0 +1,50 @@
+package sh.miles.artisan.asm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event emitted for every handler applied to a class. On the class node path the event covers the
+ * {@link sh.miles.artisan.extension.ContainerHandler#visit} call of its handler, while access flag patches and streamed
+ * visitors apply every handler of a class in a single pass which each event of that pass covers
+ *
+ * @since 1.1.0
+ */
+@Name("sh.miles.artisan.HandlerVisit")
+@Label("Artisan Handler Visit")
+@Category({"Artisan", "Transform"})
+@Description("A container handler applied to a class")
+@StackTrace(false)
+final class ArtisanHandlerEvent extends Event {
+
+    static final String PASS_PATCH = "patch";
+    static final String PASS_STREAM = "stream";
+    static final String PASS_NODE = "node";
+
+    @Label("Class Name")
+    @Description("The internal name of the visited class")
+    String className;
+
+    @Label("Container")
+    @Description("The container name of the handler")
+    String container;
+
+    @Label("Extension")
+    @Description("The name of the extension that built the handler")
+    String extension;
+
+    @Label("Extension Version")
+    String extensionVersion;
+
+    @Label("Pass")
+    @Description("How the handler was applied, patch, stream or node")
+    String pass;
+
+    @Label("Succeeded")
+    @Description("Whether the handler was applied without throwing")
+    boolean succeeded;
+}
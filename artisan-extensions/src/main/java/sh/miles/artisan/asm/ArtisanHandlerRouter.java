@@ -0,0 +1,171 @@
+package sh.miles.artisan.asm;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.objectweb.asm.ClassReader;
+import sh.miles.artisan.extension.ContainerHandler;
+import sh.miles.artisan.util.JvmClasspath;
+import sh.miles.artisan.util.log.ArtisanLogger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Routes a class to the handlers that modify it. Handlers that declare their targets through
+ * {@link ContainerHandler#targetClasses()} and {@link ContainerHandler#targetPackages()} are indexed by class name and
+ * by package, all other handlers are asked through {@link ContainerHandler#doesModify(JvmClasspath, ClassReader)}.
+ * <p>
+ * A router is immutable once built and can route classes from many threads at once
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+final class ArtisanHandlerRouter {
+
+    private final Map<String, List<ContainerHandler>> classes = new HashMap<>();
+    private final PackageNode packages = new PackageNode();
+    private final List<ContainerHandler> probed = new ArrayList<>();
+    private final int size;
+
+    ArtisanHandlerRouter(final Collection<ContainerHandler> handlers) {
+        this.size = handlers.size();
+        for (final ContainerHandler handler : handlers) {
+            final Set<String> targets = handler.targetClasses();
+            if (targets == null) {
+                this.probed.add(handler);
+                continue;
+            }
+
+            for (final String target : targets) {
+                this.classes.computeIfAbsent(target, (k) -> new ArrayList<>(1)).add(handler);
+            }
+
+            for (final String target : handler.targetPackages()) {
+                PackageNode node = this.packages;
+                int start = 0;
+                while (start < target.length()) {
+                    int end = target.indexOf('/', start);
+                    if (end == -1) end = target.length();
+                    node = node.childOrCreate(target, start, end);
+                    start = end + 1;
+                }
+                node.handlers.add(handler);
+            }
+        }
+    }
+
+    /**
+     * Finds every handler that modifies the provided class
+     *
+     * @param classpath the path of the class
+     * @param header    the reader of the class, or null if the class is being created
+     * @param logger    the logger to report handler failures to
+     * @return the handlers that modify the class, each handler at most once
+     * @since 1.1.0
+     */
+    List<ContainerHandler> route(final JvmClasspath classpath, @Nullable final ClassReader header, final ArtisanLogger logger) {
+        final List<ContainerHandler> handlers = new ArrayList<>(Math.min(this.size, 4));
+        final List<ContainerHandler> exact = this.classes.get(classpath.path());
+        if (exact != null) {
+            handlers.addAll(exact);
+        }
+
+        if (this.packages.size != 0) {
+            final String path = classpath.path();
+            PackageNode node = this.packages;
+            int start = 0;
+            int end;
+            while ((end = path.indexOf('/', start)) != -1) {
+                node = node.child(path, start, end);
+                if (node == null) break;
+                for (final ContainerHandler handler : node.handlers) {
+                    if (!handlers.contains(handler)) handlers.add(handler);
+                }
+                start = end + 1;
+            }
+        }
+
+        for (final ContainerHandler handler : this.probed) {
+            try {
+                if (header == null ? handler.doesModify(classpath) : handler.doesModify(classpath, header)) {
+                    handlers.add(handler);
+                }
+            } catch (Exception e) {
+                logger.throwing("Unable to apply handler with exception", e);
+            }
+        }
+
+        return handlers;
+    }
+
+    /**
+     * Checks from the name alone whether any handler may modify the provided class. This never reads the class, so a
+     * class that is not targeted can be skipped before it is parsed
+     *
+     * @param className the internal name of the class
+     * @return false if no handler modifies the class, true if some handler targets it or must be probed
+     * @since 1.1.0
+     */
+    boolean targets(final String className) {
+        if (!this.probed.isEmpty() || this.classes.containsKey(className)) {
+            return true;
+        }
+
+        PackageNode node = this.packages;
+        int start = 0;
+        int end;
+        while ((end = className.indexOf('/', start)) != -1) {
+            node = node.child(className, start, end);
+            if (node == null) return false;
+            if (!node.handlers.isEmpty()) return true;
+            start = end + 1;
+        }
+
+        return false;
+    }
+
+    /**
+     * A package segment and the handlers targeting it. Children are kept in parallel arrays and matched in place
+     * against the class name, so routing a class does not allocate a string for each of its package segments
+     */
+    private static final class PackageNode {
+        private String[] names = new String[0];
+        private PackageNode[] nodes = new PackageNode[0];
+        private int size;
+        private final List<ContainerHandler> handlers = new ArrayList<>(1);
+
+        private @Nullable PackageNode child(final String path, final int start, final int end) {
+            final int length = end - start;
+            for (int i = 0; i < this.size; i++) {
+                final String name = this.names[i];
+                if (name.length() == length && path.regionMatches(start, name, 0, length)) {
+                    return this.nodes[i];
+                }
+            }
+            return null;
+        }
+
+        private PackageNode childOrCreate(final String path, final int start, final int end) {
+            final PackageNode existing = child(path, start, end);
+            if (existing != null) {
+                return existing;
+            }
+
+            if (this.size == this.names.length) {
+                final int capacity = Math.max(4, this.size * 2);
+                this.names = Arrays.copyOf(this.names, capacity);
+                this.nodes = Arrays.copyOf(this.nodes, capacity);
+            }
+
+            final PackageNode node = new PackageNode();
+            this.names[this.size] = path.substring(start, end);
+            this.nodes[this.size++] = node;
+            return node;
+        }
+    }
+}
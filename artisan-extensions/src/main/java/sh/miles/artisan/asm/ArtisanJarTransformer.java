@@ -0,0 +1,262 @@
+package sh.miles.artisan.asm;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Transforms every class within a jar or zip file through a configured {@link ArtisanClassEditor} or a compiled
+ * {@link TransformationPlan}. The syntax of the editor is parsed and its handlers are built once, after which classes
+ * are transformed in parallel. Entries that are not classes are copied through untouched and the output always keeps
+ * the entry order of the input.
+ * <p>
+ * Once any class of a signed jar changed its signature files and the digests of its manifest are dropped, as they no
+ * longer match and would fail verification when the jar is loaded. The manifest precedes every class in a signed jar,
+ * so the classes of signed jars are all transformed and held in memory before the first entry is written
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class ArtisanJarTransformer {
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final String META_INF = "META-INF/";
+    private static final String DIGEST_SUFFIX = "-DIGEST";
+
+    @Nullable
+    private final ArtisanClassEditor editor;
+    @Nullable
+    private final TransformationPlan plan;
+    @Nullable
+    private ArtisanTransformCache cache;
+    private ExecutorService executor = ForkJoinPool.commonPool();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Creates a new jar transformer
+     *
+     * @param editor the editor whose extensions, syntax and logger are applied to every class. Any class bytes or
+     *               class file set on the editor are ignored
+     * @since 1.1.0
+     */
+    public ArtisanJarTransformer(ArtisanClassEditor editor) {
+        this.editor = editor;
+        this.plan = null;
+        this.cache = editor.cache();
+    }
+
+    /**
+     * Creates a new jar transformer from an already compiled plan
+     *
+     * @param plan the plan applied to every class
+     * @since 1.1.0
+     */
+    public ArtisanJarTransformer(TransformationPlan plan) {
+        this.editor = null;
+        this.plan = plan;
+    }
+
+    /**
+     * Sets a cache that is consulted before a class is transformed and stores every transformed class. By default the
+     * cache of the editor is used if this transformer was created from an editor
+     *
+     * @param cache the cache to use, or null to always transform classes
+     * @return this transformer
+     * @since 1.1.0
+     */
+    public ArtisanJarTransformer cache(@Nullable ArtisanTransformCache cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    /**
+     * Sets the executor that classes are transformed on, by default the common pool is used
+     *
+     * @param executor    the executor to use
+     * @param parallelism the amount of threads of the executor, which bounds how many entries are held in memory
+     * @return this transformer
+     * @throws IllegalArgumentException thrown if the parallelism is less than 1
+     * @since 1.1.0
+     */
+    public ArtisanJarTransformer executor(ExecutorService executor, int parallelism) throws IllegalArgumentException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1 was given %d".formatted(parallelism));
+        }
+
+        this.executor = executor;
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Transforms the input jar writing the result to the output file
+     *
+     * @param input  the jar or zip file to transform
+     * @param output the file to write the transformed jar to
+     * @throws IllegalArgumentException thrown if the editor was not provided any syntax
+     * @since 1.1.0
+     */
+    public void transform(Path input, Path output) throws IllegalArgumentException {
+        try (final OutputStream stream = Files.newOutputStream(output)) {
+            transform(input, stream);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Transforms the input jar writing the result to the provided stream. The stream is not closed
+     *
+     * @param input  the jar or zip file to transform
+     * @param output the stream to write the transformed jar to
+     * @throws IllegalArgumentException thrown if the editor was not provided any syntax
+     * @since 1.1.0
+     */
+    public void transform(Path input, OutputStream output) throws IllegalArgumentException {
+        final TransformationPlan plan = this.plan != null ? this.plan : this.editor.prepare();
+        final Deque<Future<@Nullable Processed>> pending = new ArrayDeque<>();
+        try (final ZipFile zip = new ZipFile(input.toFile())) {
+            final List<? extends ZipEntry> entries = Collections.list(zip.entries());
+            final JarOutputStream jar = new JarOutputStream(output);
+            final boolean signed = entries.stream().anyMatch((entry) -> isSignatureFile(entry.getName()));
+            final int window = signed ? Integer.MAX_VALUE : this.parallelism * 4;
+            int written = 0;
+            for (final ZipEntry entry : entries) {
+                pending.add(this.executor.submit(() -> process(zip, entry, plan, this.cache)));
+                if (pending.size() >= window) {
+                    write(jar, entries.get(written++), await(pending.poll()), false);
+                }
+            }
+
+            boolean unsign = false;
+            if (signed) {
+                for (final Future<@Nullable Processed> future : pending) {
+                    final Processed processed = await(future);
+                    if (processed != null && processed.changed()) {
+                        unsign = true;
+                        break;
+                    }
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                write(jar, entries.get(written++), await(pending.poll()), unsign);
+            }
+            jar.finish();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            for (final Future<@Nullable Processed> future : pending) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    @Nullable
+    private static Processed process(final ZipFile zip, final ZipEntry entry, @Nullable final TransformationPlan plan, @Nullable final ArtisanTransformCache cache) throws IOException {
+        if (entry.isDirectory()) return null;
+
+        final byte[] bytes;
+        try (final InputStream stream = zip.getInputStream(entry)) {
+            bytes = stream.readAllBytes();
+        }
+
+        if (plan == null || !entry.getName().endsWith(CLASS_FILE_EXTENSION)) {
+            return new Processed(bytes, false);
+        }
+
+        try {
+            final byte[] transformed = cache == null ? plan.transform(bytes) : cache.transform(plan, bytes);
+            return new Processed(transformed, !Arrays.equals(bytes, transformed));
+        } catch (RuntimeException e) {
+            plan.logger().throwing("Unable to transform %s copying it untouched".formatted(entry.getName()), e);
+            return new Processed(bytes, false);
+        }
+    }
+
+    @Nullable
+    private static Processed await(final Future<@Nullable Processed> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static void write(final JarOutputStream jar, final ZipEntry entry, @Nullable final Processed processed, final boolean unsign) throws IOException {
+        byte[] bytes = processed == null ? null : processed.bytes();
+        if (unsign) {
+            if (isSignatureFile(entry.getName())) return;
+            if (bytes != null && entry.getName().equalsIgnoreCase(JarFile.MANIFEST_NAME)) {
+                bytes = stripDigests(bytes);
+            }
+        }
+
+        final ZipEntry copy = new ZipEntry(entry.getName());
+        copy.setTime(entry.getTime());
+        if (entry.getComment() != null) {
+            copy.setComment(entry.getComment());
+        }
+
+        jar.putNextEntry(copy);
+        if (bytes != null) {
+            jar.write(bytes);
+        }
+        jar.closeEntry();
+    }
+
+    private static byte[] stripDigests(final byte[] manifestBytes) throws IOException {
+        final Manifest manifest = new Manifest(new ByteArrayInputStream(manifestBytes));
+        final Iterator<Attributes> sections = manifest.getEntries().values().iterator();
+        while (sections.hasNext()) {
+            final Attributes attributes = sections.next();
+            attributes.keySet().removeIf((key) -> key.toString().toUpperCase(Locale.ROOT).endsWith(DIGEST_SUFFIX));
+            if (attributes.isEmpty()) {
+                sections.remove();
+            }
+        }
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(manifestBytes.length);
+        manifest.write(output);
+        return output.toByteArray();
+    }
+
+    private static boolean isSignatureFile(final String name) {
+        final String upper = name.toUpperCase(Locale.ROOT);
+        if (!upper.startsWith(META_INF) || upper.indexOf('/', META_INF.length()) != -1) {
+            return false;
+        }
+
+        return upper.endsWith(".SF") || upper.endsWith(".RSA") || upper.endsWith(".DSA") || upper.endsWith(".EC") || upper.startsWith(META_INF + "SIG-");
+    }
+
+    private record Processed(byte[] bytes, boolean changed) {
+    }
+}
@@ -0,0 +1,275 @@
+package sh.miles.artisan.asm;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.objectweb.asm.ClassReader;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * A two tier cache of transformed class bytes, a least recently used set of entries in memory backed by a directory
+ * on disk. Entries are addressed by a SHA-256 digest of the input class and the {@link TransformationPlan#fingerprint()}
+ * of the plan, so a cache directory can be kept across builds and shared by any plan compiled from the same syntax and
+ * extensions. Entries read from disk are memory mapped.
+ * <p>
+ * When the disk tier grows past its size cap the least recently used entries are deleted until it is back under 90% of
+ * its cap, so a full cache does not scan its directory on every new entry. Entries that can not be deleted, e.g. while
+ * another process still maps them, are skipped. A cache can be used from many threads and by many processes sharing the
+ * same directory at once
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class ArtisanTransformCache {
+
+    private static final String ENTRY_EXTENSION = ".class";
+    private static final int KEY_LENGTH = 64;
+
+    private final Path directory;
+    private final long maxDiskBytes;
+    private final Map<String, byte[]> memory;
+    private final AtomicLong diskBytes = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    private ArtisanTransformCache(final Path directory, final long maxDiskBytes, final int maxMemoryEntries) {
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, byte[]> eldest) {
+                return size() > maxMemoryEntries;
+            }
+        };
+    }
+
+    /**
+     * Applies the plan to the provided class through this cache. Classes the plan does not target are returned as is
+     * without being hashed, all other classes are returned from the cache or transformed and stored
+     *
+     * @param plan       the plan to apply
+     * @param classBytes the class to edit
+     * @return the edited class, which must not be modified as it may be shared with other callers
+     * @since 1.1.0
+     */
+    public byte[] transform(TransformationPlan plan, byte[] classBytes) {
+        if (!plan.targets(new ClassReader(classBytes).getClassName())) {
+            return classBytes;
+        }
+
+        final String key = key(plan, classBytes);
+        final byte[] cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final byte[] transformed = plan.transform(classBytes);
+        put(key, transformed);
+        return transformed;
+    }
+
+    /**
+     * Gets an entry of this cache, promoting entries read from disk into memory
+     *
+     * @param key the key of the entry as computed by {@link #key(TransformationPlan, byte[])}
+     * @return the entry, or null if the entry is not cached
+     * @throws IllegalArgumentException thrown if the key is not 64 lowercase hex digits
+     * @since 1.1.0
+     */
+    public byte @Nullable [] get(String key) throws IllegalArgumentException {
+        checkKey(key);
+        synchronized (this.memory) {
+            final byte[] bytes = this.memory.get(key);
+            if (bytes != null) {
+                return bytes;
+            }
+        }
+
+        final Path entry = entry(key);
+        final byte[] bytes;
+        try (final FileChannel channel = FileChannel.open(entry, StandardOpenOption.READ)) {
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            bytes = new byte[mapped.remaining()];
+            mapped.get(bytes);
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        synchronized (this.memory) {
+            this.memory.put(key, bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Stores an entry in memory and on disk, evicting the least recently used entries if the disk tier outgrows its
+     * size cap
+     *
+     * @param key   the key of the entry as computed by {@link #key(TransformationPlan, byte[])}
+     * @param bytes the bytes to store
+     * @throws IllegalArgumentException thrown if the key is not 64 lowercase hex digits
+     * @since 1.1.0
+     */
+    public void put(String key, byte[] bytes) throws IllegalArgumentException {
+        checkKey(key);
+        synchronized (this.memory) {
+            this.memory.put(key, bytes);
+        }
+
+        final Path entry = entry(key);
+        if (Files.exists(entry)) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(entry.getParent());
+            final Path temporary = Files.createTempFile(entry.getParent(), key, ".tmp");
+            Files.write(temporary, bytes);
+            Files.move(temporary, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        if (this.diskBytes.addAndGet(bytes.length) > this.maxDiskBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * Gets the amount of bytes this cache holds on disk
+     *
+     * @return the size of the disk tier in bytes
+     * @since 1.1.0
+     */
+    public long diskSize() {
+        return this.diskBytes.get();
+    }
+
+    private void evict() {
+        synchronized (this.evictionLock) {
+            if (this.diskBytes.get() <= this.maxDiskBytes) {
+                return;
+            }
+
+            final List<DiskEntry> entries = scan();
+            entries.sort(Comparator.comparing(DiskEntry::lastModified));
+            long size = 0;
+            for (final DiskEntry entry : entries) {
+                size += entry.size();
+            }
+
+            final long watermark = this.maxDiskBytes - this.maxDiskBytes / 10;
+            for (final DiskEntry entry : entries) {
+                if (size <= watermark) break;
+                try {
+                    if (Files.deleteIfExists(entry.path())) {
+                        size -= entry.size();
+                    }
+                } catch (IOException ignored) {
+                    // still in use, e.g. mapped by another process, and left for a later eviction
+                }
+            }
+            this.diskBytes.set(size);
+        }
+    }
+
+    private List<DiskEntry> scan() {
+        final List<DiskEntry> entries = new ArrayList<>();
+        try (final Stream<Path> files = Files.walk(this.directory, 2)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                if (!file.getFileName().toString().endsWith(ENTRY_EXTENSION)) continue;
+                try {
+                    entries.add(new DiskEntry(file, Files.size(file), Files.getLastModifiedTime(file)));
+                } catch (NoSuchFileException ignored) {
+                    // evicted by another process
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return entries;
+    }
+
+    private Path entry(final String key) {
+        return this.directory.resolve(key.substring(0, 2)).resolve(key + ENTRY_EXTENSION);
+    }
+
+    private static void checkKey(final String key) throws IllegalArgumentException {
+        boolean valid = key.length() == KEY_LENGTH;
+        for (int i = 0; valid && i < KEY_LENGTH; i++) {
+            final char current = key.charAt(i);
+            valid = (current >= '0' && current <= '9') || (current >= 'a' && current <= 'f');
+        }
+
+        if (!valid) {
+            throw new IllegalArgumentException("A cache key must be 64 lowercase hex digits was given %s".formatted(key));
+        }
+    }
+
+    private record DiskEntry(Path path, long size, FileTime lastModified) {
+    }
+
+    /**
+     * Computes the key of a class transformed by the provided plan
+     *
+     * @param plan       the plan
+     * @param classBytes the class before it is transformed
+     * @return the key of the transformed class
+     * @since 1.1.0
+     */
+    public static String key(TransformationPlan plan, byte[] classBytes) {
+        final MessageDigest digest = PlanFingerprint.digest();
+        digest.update(plan.fingerprint());
+        digest.update(classBytes);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Opens a cache within the provided directory, creating the directory if it does not exist
+     *
+     * @param directory        the directory to store entries in
+     * @param maxDiskBytes     the size cap of the disk tier in bytes
+     * @param maxMemoryEntries the amount of entries held in memory
+     * @return the cache
+     * @throws IllegalArgumentException thrown if either limit is negative
+     * @since 1.1.0
+     */
+    public static ArtisanTransformCache open(Path directory, long maxDiskBytes, int maxMemoryEntries) throws IllegalArgumentException {
+        if (maxDiskBytes < 0 || maxMemoryEntries < 0) {
+            throw new IllegalArgumentException("The cache limits must not be negative was given %d bytes and %d entries".formatted(maxDiskBytes, maxMemoryEntries));
+        }
+
+        final ArtisanTransformCache cache = new ArtisanTransformCache(directory, maxDiskBytes, maxMemoryEntries);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        long size = 0;
+        for (final DiskEntry entry : cache.scan()) {
+            size += entry.size();
+        }
+        cache.diskBytes.set(size);
+        return cache;
+    }
+}
@@ -0,0 +1,42 @@
+package sh.miles.artisan.asm;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event emitted around running a single class through a {@link TransformationPlan}
+ *
+ * @since 1.1.0
+ */
+@Name("sh.miles.artisan.Transform")
+@Label("Artisan Transform")
+@Category({"Artisan", "Transform"})
+@Description("Running a class through the handlers of a transformation plan")
+@StackTrace(false)
+final class ArtisanTransformEvent extends Event {
+
+    @Label("Class Name")
+    @Description("The internal name of the class")
+    String className;
+
+    @Label("Handlers")
+    @Description("The amount of handlers that modify the class")
+    int handlers;
+
+    @Label("Size In")
+    @DataAmount
+    long bytesIn;
+
+    @Label("Size Out")
+    @DataAmount
+    long bytesOut;
+
+    @Label("Modified")
+    @Description("Whether the class was rewritten by its handlers")
+    boolean modified;
+}
@@ -0,0 +1,112 @@
+package sh.miles.artisan.asm;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import sh.miles.artisan.extension.ContainerHandler;
+import sh.miles.artisan.parser.event.ArtisanEventHandler;
+import sh.miles.artisan.util.log.ArtisanLogger;
+import sh.miles.artisan.util.metrics.ArtisanMetrics;
+import sh.miles.artisan.util.metrics.ArtisanVoidMetrics;
+import sh.miles.artisan.visitor.ArtisanNodeReader;
+import sh.miles.artisan.visitor.LiteralResult;
+import sh.miles.artisan.visitor.MetadataResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Routes literals straight from parse events into the {@link ContainerHandler}s registered for their container.
+ * <p>
+ * As with {@link ArtisanNodeReader#getLiterals(String)} only the first container of any given name is dispatched
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+final class ContainerEventDispatcher implements ArtisanEventHandler {
+
+    private final Map<String, List<ContainerHandler>> handlers = new HashMap<>();
+    private final Set<String> visited = new HashSet<>();
+    private final ArtisanLogger logger;
+    @Nullable
+    private final PlanFingerprint fingerprint;
+    private final ArtisanMetrics metrics;
+    private List<ContainerHandler> current = List.of();
+    private String currentName = "";
+    private int currentLiterals = 0;
+
+    ContainerEventDispatcher(final ArtisanLogger logger) {
+        this(logger, null, new ArtisanVoidMetrics());
+    }
+
+    ContainerEventDispatcher(final ArtisanLogger logger, @Nullable final PlanFingerprint fingerprint, final ArtisanMetrics metrics) {
+        this.logger = logger;
+        this.fingerprint = fingerprint;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registers a handler to receive the literals of its container
+     *
+     * @param handler the handler
+     * @since 1.1.0
+     */
+    void register(final ContainerHandler handler) {
+        this.handlers.computeIfAbsent(handler.containerName(), (k) -> new ArrayList<>()).add(handler);
+    }
+
+    /**
+     * Checks whether a container of the given name was parsed
+     *
+     * @param containerName the container name
+     * @return true if the container was parsed, otherwise false
+     * @since 1.1.0
+     */
+    boolean hasVisited(final String containerName) {
+        return this.visited.contains(containerName);
+    }
+
+    @Override
+    public void onContainerOpen(final String name) {
+        if (!this.visited.add(name)) {
+            return;
+        }
+
+        this.current = this.handlers.getOrDefault(name, List.of());
+        this.currentName = name;
+        this.currentLiterals = 0;
+    }
+
+    @Override
+    public void onLiteral(final String literal, final List<MetadataResult> metadata) {
+        if (this.current.isEmpty()) {
+            return;
+        }
+
+        final Map<String, String> meta = new HashMap<>();
+        for (int i = metadata.size() - 1; i >= 0; i--) { // the first declaration of a key wins like in the syntax tree
+            final MetadataResult result = metadata.get(i);
+            meta.put(result.key(), result.value());
+        }
+
+        final LiteralResult result = LiteralResult.create(literal, meta);
+        this.currentLiterals++;
+        if (this.fingerprint != null) {
+            this.fingerprint.literal(this.currentName, result);
+        }
+        for (final ContainerHandler handler : this.current) {
+            handler.parse(result, this.logger);
+        }
+    }
+
+    @Override
+    public void onContainerClose(final String name) {
+        if (!this.current.isEmpty() && this.metrics.isEnabled()) {
+            this.metrics.count(ArtisanMetrics.LITERALS_PREFIX + this.currentName, this.currentLiterals);
+        }
+        this.current = List.of();
+    }
+}
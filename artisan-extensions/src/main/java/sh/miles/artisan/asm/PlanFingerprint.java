@@ -0,0 +1,107 @@
+package sh.miles.artisan.asm;
+
+import org.jspecify.annotations.NullMarked;
+import sh.miles.artisan.extension.ArtisanExtension;
+import sh.miles.artisan.visitor.LiteralResult;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds a SHA-256 digest of everything a {@link TransformationPlan} is compiled from, the name and version of every
+ * extension and every literal parsed by a handler. Containers are digested independently and combined in name order,
+ * so the digest does not depend on the order containers are declared or parsed in
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+final class PlanFingerprint {
+
+    static final String ALGORITHM = "SHA-256";
+
+    private final List<String> extensions = new ArrayList<>();
+    private final Map<String, MessageDigest> containers = new TreeMap<>();
+
+    PlanFingerprint(final Collection<ArtisanExtension> extensions) {
+        for (final ArtisanExtension extension : extensions) {
+            this.extensions.add(extension.name() + '\0' + extension.version());
+        }
+        this.extensions.sort(null);
+    }
+
+    /**
+     * Checks whether the literals of a container are already part of this fingerprint
+     *
+     * @param containerName the name of the container
+     * @return true if the container was digested, otherwise false
+     * @since 1.1.0
+     */
+    boolean contains(final String containerName) {
+        return this.containers.containsKey(containerName);
+    }
+
+    /**
+     * Adds a literal of the provided container to this fingerprint
+     *
+     * @param containerName the name of the container
+     * @param literal       the literal
+     * @since 1.1.0
+     */
+    void literal(final String containerName, final LiteralResult literal) {
+        final MessageDigest digest = this.containers.computeIfAbsent(containerName, (k) -> digest());
+        update(digest, literal.literal);
+        for (final String key : literal.getMetaKeys().stream().sorted().toList()) {
+            update(digest, key);
+            update(digest, literal.getMetaValue(key));
+        }
+        digest.update((byte) 1);
+    }
+
+    /**
+     * Marks a container as part of this fingerprint even if it does not contain any literals
+     *
+     * @param containerName the name of the container
+     * @since 1.1.0
+     */
+    void container(final String containerName) {
+        this.containers.computeIfAbsent(containerName, (k) -> digest());
+    }
+
+    /**
+     * Completes the fingerprint
+     *
+     * @return the digest
+     * @since 1.1.0
+     */
+    byte[] finish() {
+        final MessageDigest result = digest();
+        for (final String extension : this.extensions) {
+            update(result, extension);
+        }
+
+        for (final Map.Entry<String, MessageDigest> entry : this.containers.entrySet()) {
+            update(result, entry.getKey());
+            result.update(entry.getValue().digest());
+        }
+        return result.digest();
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every java platform must support " + ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,522 @@
+package sh.miles.artisan.asm;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
+import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.extension.AccessFlagHandler;
+import sh.miles.artisan.extension.AccessFlagHandler.AccessPatch;
+import sh.miles.artisan.extension.ArtisanExtension;
+import sh.miles.artisan.extension.ClassVisitorHandler;
+import sh.miles.artisan.extension.ContainerHandler;
+import sh.miles.artisan.parser.event.ArtisanEventHandler;
+import sh.miles.artisan.util.JvmClasspath;
+import sh.miles.artisan.util.log.ArtisanLogger;
+import sh.miles.artisan.util.metrics.ArtisanMetrics;
+import sh.miles.artisan.util.metrics.ArtisanVoidMetrics;
+import sh.miles.artisan.visitor.ArtisanNodeReader;
+import sh.miles.artisan.visitor.LiteralResult;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * An immutable set of handlers compiled once from some syntax and a collection of extensions. Every handler is parsed
+ * and then {@link ContainerHandler#freeze() frozen} while the plan is compiled, after which the plan only reads its
+ * handlers and {@link #transform(byte[])} can be called from any number of threads at once.
+ * <p>
+ * A plan can be compiled directly or through {@link ArtisanClassEditor#compile()}. Compiling and transforming is
+ * recorded to the {@link ArtisanMetrics} the plan was compiled with, and emitted as flight recorder events while a
+ * recording is active
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class TransformationPlan {
+
+    private final List<ContainerHandler> handlers;
+    private final Map<ContainerHandler, ArtisanExtension> owners;
+    private final ArtisanHandlerRouter router;
+    private final ArtisanLogger logger;
+    private final ArtisanMetrics metrics;
+    private final byte[] fingerprint;
+
+    private TransformationPlan(final List<ContainerHandler> handlers, final Map<ContainerHandler, ArtisanExtension> owners, final ArtisanLogger logger, final ArtisanMetrics metrics, final byte[] fingerprint) {
+        for (final ContainerHandler handler : handlers) {
+            handler.freeze();
+        }
+
+        this.handlers = List.copyOf(handlers);
+        this.owners = owners;
+        this.router = new ArtisanHandlerRouter(this.handlers);
+        this.logger = logger;
+        this.metrics = metrics;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Applies the handlers of this plan to the provided class
+     *
+     * @param classBytes the class to edit
+     * @return the edited class, or the provided bytes if no handler modified the class
+     * @since 1.1.0
+     */
+    public byte[] transform(byte[] classBytes) {
+        final ArtisanTransformEvent event = new ArtisanTransformEvent();
+        if (!event.isEnabled()) {
+            return transform(classBytes, null);
+        }
+
+        event.begin();
+        final byte[] transformed = transform(classBytes, event);
+        if (event.shouldCommit()) {
+            event.bytesIn = classBytes.length;
+            event.bytesOut = transformed.length;
+            event.modified = !Arrays.equals(classBytes, transformed);
+            event.commit();
+        }
+        return transformed;
+    }
+
+    private byte[] transform(final byte[] classBytes, @Nullable final ArtisanTransformEvent event) {
+        final boolean measure = this.metrics.isEnabled();
+        final long start = measure ? System.nanoTime() : 0L;
+        final ClassReader reader = new ClassReader(classBytes);
+        final JvmClasspath classpath = new JvmClasspath(JvmClasspath.CLASS, reader.getClassName(), null, null);
+        final List<ContainerHandler> handlers = this.router.route(classpath, reader, this.logger);
+        if (measure) {
+            this.metrics.timeSince(ArtisanMetrics.CLASS_READ, start);
+            this.metrics.count(ArtisanMetrics.CLASSES_SCANNED, 1);
+            this.metrics.count(ArtisanMetrics.BYTES_IN, classBytes.length);
+        }
+        if (event != null) {
+            event.className = classpath.path();
+            event.handlers = handlers.size();
+        }
+
+        if (handlers.isEmpty()) {
+            if (measure) {
+                this.metrics.count(ArtisanMetrics.CLASSES_PASSED, 1);
+                this.metrics.count(ArtisanMetrics.BYTES_OUT, classBytes.length);
+            }
+            return classBytes;
+        }
+
+        if (measure) {
+            this.metrics.count(ArtisanMetrics.CLASSES_MATCHED, 1);
+        }
+        final byte[] transformed = rewrite(classBytes, reader, classpath, handlers, measure);
+        if (measure) {
+            if (!Arrays.equals(classBytes, transformed)) this.metrics.count(ArtisanMetrics.CLASSES_MODIFIED, 1);
+            this.metrics.count(ArtisanMetrics.BYTES_OUT, transformed.length);
+        }
+        return transformed;
+    }
+
+    /**
+     * Checks from the name alone whether this plan may modify the provided class, without reading the class. Classes
+     * this returns false for are always returned untouched by {@link #transform(byte[])}
+     *
+     * @param className the internal name of the class, e.g. {@code sh/miles/artisan/Example}
+     * @return false if no handler modifies the class, otherwise true
+     * @since 1.1.0
+     */
+    public boolean targets(String className) {
+        return this.router.targets(className);
+    }
+
+    /**
+     * Gets every handler of this plan
+     *
+     * @return an unmodifiable list of the handlers
+     * @since 1.1.0
+     */
+    public List<ContainerHandler> handlers() {
+        return this.handlers;
+    }
+
+    /**
+     * Gets the metrics compiling and transforming with this plan is recorded to
+     *
+     * @return the metrics
+     * @since 1.1.0
+     */
+    public ArtisanMetrics metrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Gets a SHA-256 digest of the name and version of every extension and every literal parsed into the handlers of
+     * this plan. Plans with equal fingerprints were compiled from the same extension versions and literals
+     *
+     * @return a copy of the fingerprint
+     * @since 1.1.0
+     */
+    public byte[] fingerprint() {
+        return this.fingerprint.clone();
+    }
+
+    /**
+     * Gets the logger of this plan
+     *
+     * @return the logger
+     * @since 1.1.0
+     */
+    public ArtisanLogger logger() {
+        return this.logger;
+    }
+
+    /**
+     * Applies every handler that modifies the class to the provided node
+     *
+     * @param node      the node to edit
+     * @param classpath the path of the class
+     * @param header    the reader of the class, or null if the class is being created
+     * @since 1.1.0
+     */
+    void visit(final ClassNode node, final JvmClasspath classpath, @Nullable final ClassReader header) {
+        visit(node, classpath, this.router.route(classpath, header, this.logger));
+    }
+
+    private byte[] rewrite(final byte[] classBytes, final ClassReader reader, final JvmClasspath classpath, final List<ContainerHandler> handlers, final boolean measure) {
+        if (isAccessOnly(handlers)) {
+            final long start = measure ? System.nanoTime() : 0L;
+            final ArtisanHandlerEvent[] events = beginHandlerEvents(handlers);
+            try {
+                final byte[] patched = patch(classBytes, reader, classpath, handlers);
+                if (measure) this.metrics.timeSince(ArtisanMetrics.CLASS_PATCH, start);
+                commitHandlerEvents(events, handlers, classpath, ArtisanHandlerEvent.PASS_PATCH, true);
+                return patched;
+            } catch (Exception e) {
+                commitHandlerEvents(events, handlers, classpath, ArtisanHandlerEvent.PASS_PATCH, false);
+                logger.throwing("Unable to patch access flags, retrying with visitors", e);
+            }
+        }
+
+        if (isStreamable(handlers)) {
+            final long start = measure ? System.nanoTime() : 0L;
+            final ArtisanHandlerEvent[] events = beginHandlerEvents(handlers);
+            try {
+                final byte[] streamed = stream(reader, classpath, handlers);
+                if (measure) this.metrics.timeSince(ArtisanMetrics.CLASS_STREAM, start);
+                commitHandlerEvents(events, handlers, classpath, ArtisanHandlerEvent.PASS_STREAM, true);
+                return streamed;
+            } catch (Exception e) {
+                commitHandlerEvents(events, handlers, classpath, ArtisanHandlerEvent.PASS_STREAM, false);
+                logger.throwing("Unable to apply visitor handlers, retrying with a class node", e);
+            }
+        }
+
+        long start = measure ? System.nanoTime() : 0L;
+        final ClassNode node = new ClassNode();
+        reader.accept(node, 0);
+        final ClassWriter writer = new ClassWriter(reader, 0);
+        if (measure) this.metrics.timeSince(ArtisanMetrics.CLASS_NODE, start);
+
+        visit(node, classpath, handlers);
+
+        start = measure ? System.nanoTime() : 0L;
+        node.accept(writer);
+        final byte[] written = writer.toByteArray();
+        if (measure) this.metrics.timeSince(ArtisanMetrics.CLASS_WRITE, start);
+        return written;
+    }
+
+    private void visit(final ClassNode node, final JvmClasspath classpath, final List<ContainerHandler> handlers) {
+        final boolean measure = this.metrics.isEnabled();
+        for (final ContainerHandler handler : handlers) {
+            final ArtisanHandlerEvent event = new ArtisanHandlerEvent();
+            final boolean recording = event.isEnabled();
+            final long start = measure ? System.nanoTime() : 0L;
+            if (recording) event.begin();
+            boolean succeeded = false;
+            try {
+                handler.visit(node, classpath, this.logger);
+                succeeded = true;
+                if (measure) this.metrics.timeSince(ArtisanMetrics.HANDLER_PREFIX + handler.containerName(), start);
+                if (logger.isInfoEnabled()) {
+                    logger.info("Finished applying visitor for class %s within container %s".formatted(classpath.dotpath(), handler.containerName()));
+                }
+            } catch (Exception e) {
+                logger.throwing("Unable to apply handler with exception", e);
+            }
+
+            if (recording) {
+                commitHandlerEvent(event, handler, classpath, ArtisanHandlerEvent.PASS_NODE, succeeded);
+            }
+        }
+    }
+
+    /**
+     * Begins one handler event per handler for a pass that applies every handler at once
+     *
+     * @param handlers the handlers applied by the pass
+     * @return the begun events in handler order, or null if the event is not enabled
+     */
+    private static ArtisanHandlerEvent @Nullable [] beginHandlerEvents(final List<ContainerHandler> handlers) {
+        final ArtisanHandlerEvent first = new ArtisanHandlerEvent();
+        if (!first.isEnabled()) {
+            return null;
+        }
+
+        final ArtisanHandlerEvent[] events = new ArtisanHandlerEvent[handlers.size()];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = i == 0 ? first : new ArtisanHandlerEvent();
+            events[i].begin();
+        }
+        return events;
+    }
+
+    private void commitHandlerEvents(final ArtisanHandlerEvent @Nullable [] events, final List<ContainerHandler> handlers, final JvmClasspath classpath, final String pass, final boolean succeeded) {
+        if (events == null) {
+            return;
+        }
+
+        for (int i = 0; i < events.length; i++) {
+            commitHandlerEvent(events[i], handlers.get(i), classpath, pass, succeeded);
+        }
+    }
+
+    private void commitHandlerEvent(final ArtisanHandlerEvent event, final ContainerHandler handler, final JvmClasspath classpath, final String pass, final boolean succeeded) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        final ArtisanExtension owner = this.owners.get(handler);
+        event.className = classpath.path();
+        event.container = handler.containerName();
+        event.extension = owner == null ? null : owner.name();
+        event.extensionVersion = owner == null ? null : owner.version();
+        event.pass = pass;
+        event.succeeded = succeeded;
+        event.commit();
+    }
+
+    /**
+     * Patches the access flags of the class in place combining the access changes of every handler
+     *
+     * @param classBytes the class to edit
+     * @param reader     the reader of the class
+     * @param classpath  the path of the class
+     * @param handlers   the handlers that modify the class, which must all be {@link AccessFlagHandler}s
+     * @return the edited class
+     */
+    private byte[] patch(final byte[] classBytes, final ClassReader reader, final JvmClasspath classpath, final List<ContainerHandler> handlers) {
+        final String superName = reader.getSuperName();
+        final List<String> interfaces = Arrays.asList(reader.getInterfaces());
+        final AccessPatch[] patches = new AccessPatch[handlers.size()];
+        for (int i = 0; i < patches.length; i++) {
+            patches[i] = ((AccessFlagHandler) handlers.get(i)).accessPatch(classpath, superName, interfaces, this.logger);
+        }
+
+        final byte[] patched = ArtisanAccessPatcher.patch(classBytes, reader, (access, name, descriptor, method) -> {
+            int result = access;
+            for (final AccessPatch patch : patches) {
+                result = patch.apply(result, name, descriptor, method);
+            }
+            return result;
+        });
+        if (logger.isInfoEnabled()) {
+            for (final ContainerHandler handler : handlers) {
+                logger.info("Finished applying visitor for class %s within container %s".formatted(classpath.dotpath(), handler.containerName()));
+            }
+        }
+        return patched;
+    }
+
+    /**
+     * Edits the class in a single pass chaining the visitor of every handler between the reader and the writer
+     *
+     * @param reader    the reader of the class
+     * @param classpath the path of the class
+     * @param handlers  the handlers that modify the class, which must all be {@link ClassVisitorHandler}s
+     * @return the edited class
+     */
+    private byte[] stream(final ClassReader reader, final JvmClasspath classpath, final List<ContainerHandler> handlers) {
+        final ClassWriter writer = new ClassWriter(reader, 0);
+        ClassVisitor visitor = writer;
+        for (int i = handlers.size() - 1; i >= 0; i--) {
+            visitor = ((ClassVisitorHandler) handlers.get(i)).visitor(visitor, classpath, this.logger);
+        }
+
+        reader.accept(visitor, 0);
+        if (logger.isInfoEnabled()) {
+            for (final ContainerHandler handler : handlers) {
+                logger.info("Finished applying visitor for class %s within container %s".formatted(classpath.dotpath(), handler.containerName()));
+            }
+        }
+        return writer.toByteArray();
+    }
+
+    private static boolean isAccessOnly(final List<ContainerHandler> handlers) {
+        for (final ContainerHandler handler : handlers) {
+            if (!(handler instanceof AccessFlagHandler)) return false;
+        }
+
+        return true;
+    }
+
+    private static boolean isStreamable(final List<ContainerHandler> handlers) {
+        for (final ContainerHandler handler : handlers) {
+            if (!(handler instanceof ClassVisitorHandler)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Compiles a plan parsing the literals of the syntax tree into the handlers of every extension
+     *
+     * @param syntaxTreeReader the syntax tree
+     * @param extensions       the extensions to build handlers from
+     * @param logger           the logger
+     * @return the compiled plan
+     * @since 1.1.0
+     */
+    public static TransformationPlan compile(ArtisanNodeReader syntaxTreeReader, Collection<ArtisanExtension> extensions, ArtisanLogger logger) {
+        return compile(syntaxTreeReader, extensions, logger, new ArtisanVoidMetrics());
+    }
+
+    /**
+     * Compiles a plan parsing the literals of the syntax tree into the handlers of every extension
+     *
+     * @param syntaxTreeReader the syntax tree
+     * @param extensions       the extensions to build handlers from
+     * @param logger           the logger
+     * @param metrics          the metrics compiling and transforming with the plan is recorded to
+     * @return the compiled plan
+     * @since 1.1.0
+     */
+    public static TransformationPlan compile(ArtisanNodeReader syntaxTreeReader, Collection<ArtisanExtension> extensions, ArtisanLogger logger, ArtisanMetrics metrics) {
+        final long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+        final ArtisanCompileEvent event = new ArtisanCompileEvent();
+        final boolean recording = event.isEnabled();
+        if (recording) event.begin();
+        final Set<String> contaierNames = new HashSet<>(syntaxTreeReader.getContainers());
+        final PlanFingerprint fingerprint = new PlanFingerprint(extensions);
+        final List<ContainerHandler> handlers = new ArrayList<>();
+        final Map<ContainerHandler, ArtisanExtension> owners = new IdentityHashMap<>();
+        for (final ArtisanExtension extension : extensions) {
+            logger.debug("Gathering Containers from extension %s", extension.name());
+            for (final ContainerHandler handler : extension.buildHandlers()) {
+                if (!contaierNames.contains(handler.containerName())) {
+                    logger.debug("Skipping container %s from %s", handler.containerName(), extension.name());
+                }
+
+                final boolean digest = !fingerprint.contains(handler.containerName());
+                fingerprint.container(handler.containerName());
+                final List<LiteralResult> literals = syntaxTreeReader.getLiterals(handler.containerName());
+                for (final LiteralResult literal : literals) {
+                    handler.parse(literal, logger);
+                    if (digest) fingerprint.literal(handler.containerName(), literal);
+                }
+
+                if (digest && metrics.isEnabled()) {
+                    metrics.count(ArtisanMetrics.LITERALS_PREFIX + handler.containerName(), literals.size());
+                }
+                handlers.add(handler);
+                owners.put(handler, extension);
+            }
+        }
+
+        if (metrics.isEnabled()) metrics.timeSince(ArtisanMetrics.PLAN_COMPILE, start);
+        if (recording) commit(event, extensions, handlers);
+        return new TransformationPlan(handlers, owners, logger, metrics, fingerprint.finish());
+    }
+
+    /**
+     * Compiles a plan routing the literals of the {@code .ajex} file straight into the handlers of every extension
+     * without building a syntax tree
+     *
+     * @param path       the {@code .ajex} file
+     * @param extensions the extensions to build handlers from
+     * @param logger     the logger
+     * @return the compiled plan
+     * @since 1.1.0
+     */
+    public static TransformationPlan compile(Path path, Collection<ArtisanExtension> extensions, ArtisanLogger logger) {
+        return compile(path, extensions, logger, new ArtisanVoidMetrics());
+    }
+
+    /**
+     * Compiles a plan routing the literals of the {@code .ajex} file straight into the handlers of every extension
+     * without building a syntax tree
+     *
+     * @param path       the {@code .ajex} file
+     * @param extensions the extensions to build handlers from
+     * @param logger     the logger
+     * @param metrics    the metrics compiling and transforming with the plan is recorded to
+     * @return the compiled plan
+     * @since 1.1.0
+     */
+    public static TransformationPlan compile(Path path, Collection<ArtisanExtension> extensions, ArtisanLogger logger, ArtisanMetrics metrics) {
+        return compile((Consumer<ArtisanEventHandler>) (handler) -> ArtisanFormat.parse(path, handler, metrics), extensions, logger, metrics);
+    }
+
+    /**
+     * Compiles a plan routing the literals of the syntax source straight into the handlers of every extension
+     *
+     * @param syntaxSource the source that parses syntax into the provided event handler
+     * @param extensions   the extensions to build handlers from
+     * @param logger       the logger
+     * @param metrics      the metrics compiling and transforming with the plan is recorded to
+     * @return the compiled plan
+     * @since 1.1.0
+     */
+    static TransformationPlan compile(final Consumer<ArtisanEventHandler> syntaxSource, final Collection<ArtisanExtension> extensions, final ArtisanLogger logger, final ArtisanMetrics metrics) {
+        final long start = metrics.isEnabled() ? System.nanoTime() : 0L;
+        final ArtisanCompileEvent event = new ArtisanCompileEvent();
+        final boolean recording = event.isEnabled();
+        if (recording) event.begin();
+        final PlanFingerprint fingerprint = new PlanFingerprint(extensions);
+        final ContainerEventDispatcher dispatcher = new ContainerEventDispatcher(logger, fingerprint, metrics);
+        final List<ContainerHandler> handlers = new ArrayList<>();
+        final Map<ContainerHandler, ArtisanExtension> owners = new IdentityHashMap<>();
+        for (final ArtisanExtension extension : extensions) {
+            logger.debug("Gathering Containers from extension %s", extension.name());
+            for (final ContainerHandler handler : extension.buildHandlers()) {
+                dispatcher.register(handler);
+                handlers.add(handler);
+                owners.put(handler, extension);
+            }
+        }
+
+        syntaxSource.accept(dispatcher);
+        for (final ContainerHandler handler : handlers) {
+            fingerprint.container(handler.containerName());
+            if (!dispatcher.hasVisited(handler.containerName())) {
+                logger.debug("Skipping container %s", handler.containerName());
+            }
+        }
+
+        if (metrics.isEnabled()) metrics.timeSince(ArtisanMetrics.PLAN_COMPILE, start);
+        if (recording) commit(event, extensions, handlers);
+        return new TransformationPlan(handlers, owners, logger, metrics, fingerprint.finish());
+    }
+
+    private static void commit(final ArtisanCompileEvent event, final Collection<ArtisanExtension> extensions, final List<ContainerHandler> handlers) {
+        if (!event.shouldCommit()) {
+            return;
+        }
+
+        final StringJoiner joiner = new StringJoiner(", ");
+        for (final ArtisanExtension extension : extensions) {
+            joiner.add(extension.name() + " " + extension.version());
+        }
+        event.extensions = joiner.toString();
+        event.handlers = handlers.size();
+        event.commit();
+    }
+}
@@ -0,0 +1,55 @@
+package sh.miles.artisan.extension;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import sh.miles.artisan.util.JvmClasspath;
+import sh.miles.artisan.util.log.ArtisanLogger;
+
+import java.util.List;
+
+/**
+ * A {@link ContainerHandler} whose only changes to a class are the access flags of its fields and methods. When every
+ * handler that modifies a class is an AccessFlagHandler the flags are patched directly in a copy of the class bytes,
+ * without any ASM tree or re-serialization.
+ * <p>
+ * The tree based {@link #visit(org.objectweb.asm.tree.ClassNode, JvmClasspath, ArtisanLogger)} is still used when a
+ * class is created or is also modified by other handlers, so both should apply the same changes.
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public interface AccessFlagHandler extends ContainerHandler {
+
+    /**
+     * Creates the access flag changes this handler makes to the provided class
+     *
+     * @param path       the path "name" of the class being edited
+     * @param superName  the internal name of the super class, null only for {@link Object}
+     * @param interfaces the internal names of the interfaces of the class
+     * @param logger     the logger
+     * @return the access changes for the members of the class
+     * @since 1.1.0
+     */
+    AccessPatch accessPatch(JvmClasspath path, @Nullable String superName, List<String> interfaces, ArtisanLogger logger);
+
+    /**
+     * Maps the access flags of a single field or method
+     *
+     * @since 1.1.0
+     */
+    @FunctionalInterface
+    interface AccessPatch {
+
+        /**
+         * Computes the new access flags of a member
+         *
+         * @param access     the current access flags of the member
+         * @param name       the name of the member
+         * @param descriptor the descriptor of the member
+         * @param method     true if the member is a method, otherwise false if it is a field
+         * @return the new access flags, or the provided flags if the member is not changed
+         * @since 1.1.0
+         */
+        int apply(int access, String name, String descriptor, boolean method);
+    }
+}
@@ -0,0 +1,32 @@
+package sh.miles.artisan.extension;
+
+import org.jspecify.annotations.NullMarked;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.tree.ClassNode;
+import sh.miles.artisan.util.JvmClasspath;
+import sh.miles.artisan.util.log.ArtisanLogger;
+
+/**
+ * A {@link ContainerHandler} that can also edit classes as a {@link ClassVisitor} adapter. When every handler that
+ * modifies a class is a ClassVisitorHandler the class is edited in a single pass from the reader to the writer,
+ * letting ASM copy any method that was not changed as is instead of building a {@link ClassNode}.
+ * <p>
+ * The tree based {@link #visit(ClassNode, JvmClasspath, ArtisanLogger)} is still used when a class is created or is
+ * also modified by handlers that only support trees, so both should apply the same changes.
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public interface ClassVisitorHandler extends ContainerHandler {
+
+    /**
+     * Creates a visitor which applies the changes of this handler and passes everything on to the delegate
+     *
+     * @param delegate the visitor to pass the class on to
+     * @param path     the path "name" of the class being edited
+     * @param logger   the logger
+     * @return the visitor adapter
+     * @since 1.1.0
+     */
+    ClassVisitor visitor(ClassVisitor delegate, JvmClasspath path, ArtisanLogger logger);
+}
@@ -1,13 +1,21 @@
 package sh.miles.artisan.extension;
 
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.tree.ClassNode;
 import sh.miles.artisan.util.JvmClasspath;
 import sh.miles.artisan.util.log.ArtisanLogger;
 import sh.miles.artisan.visitor.LiteralResult;
 
+import java.util.Set;
+
 /**
  * Handles more advanced incremental parsing steps that can not be assumed by the artisan-format module.
+ * <p>
+ * Once every literal is parsed {@link #visit(ClassNode, JvmClasspath, ArtisanLogger)} and
+ * {@link #doesModify(JvmClasspath)} may be called from multiple threads at once, e.g. by
+ * {@link sh.miles.artisan.asm.ArtisanJarTransformer}
  *
  * @since 1.0.0
  */
@@ -24,6 +32,16 @@ public interface ContainerHandler {
      */
     void parse(LiteralResult literal, ArtisanLogger logger);
 
+    /**
+     * Called once every literal is parsed, after which this handler is only read. Handlers can use this to replace
+     * their parse state with immutable copies so the handler can be shared by a {@link sh.miles.artisan.asm.TransformationPlan}
+     * across many threads. Calling {@link #parse(LiteralResult, ArtisanLogger)} after this method may fail
+     *
+     * @since 1.1.0
+     */
+    default void freeze() {
+    }
+
     /**
      * Gets the class visitor for this given handler
      *
@@ -42,6 +60,48 @@ public interface ContainerHandler {
      */
     boolean doesModify(JvmClasspath path);
 
+    /**
+     * Determines whether or not the provided container handler will end up modifying the provided class before the
+     * class is parsed. Handlers that need more than the name of the class, e.g. its super class or interfaces, can
+     * override this method to read them from the header
+     * <p>
+     * Only constant pool values such as {@link ClassReader#getSuperName()} and {@link ClassReader#getInterfaces()}
+     * should be read from the header, the class is fully parsed only if a handler modifies it
+     *
+     * @param path   the class path that will be modified
+     * @param header the reader of the class being edited
+     * @return true if the class will be modified otherwise false
+     * @since 1.1.0
+     */
+    default boolean doesModify(JvmClasspath path, ClassReader header) {
+        return doesModify(path);
+    }
+
+    /**
+     * Declares the internal name of every class this handler modifies, e.g. {@code sh/miles/artisan/Example}, once
+     * every literal is parsed. Declared targets are indexed so this handler is only routed the classes it targets and
+     * {@link #doesModify(JvmClasspath)} is never called
+     *
+     * @return the classes this handler modifies, or null if the handler can only tell through
+     * {@link #doesModify(JvmClasspath)}
+     * @since 1.1.0
+     */
+    @Nullable
+    default Set<String> targetClasses() {
+        return null;
+    }
+
+    /**
+     * Declares the internal name of every package this handler modifies all classes of, e.g. {@code sh/miles} for
+     * every class within that package and its sub packages. Only used if {@link #targetClasses()} is not null
+     *
+     * @return the packages this handler modifies
+     * @since 1.1.0
+     */
+    default Set<String> targetPackages() {
+        return Set.of();
+    }
+
     /**
      * The name of the container this ContainerHandler applies to
      *
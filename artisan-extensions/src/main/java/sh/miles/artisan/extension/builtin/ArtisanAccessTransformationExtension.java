@@ -1,27 +1,39 @@
 package sh.miles.artisan.extension.builtin;
 
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.FieldNode;
 import org.objectweb.asm.tree.MethodNode;
 import sh.miles.artisan.ArtisanExtensions;
 import sh.miles.artisan.asm.ArtisanAccessUtil;
+import sh.miles.artisan.asm.ArtisanClassHierarchy;
+import sh.miles.artisan.extension.AccessFlagHandler;
 import sh.miles.artisan.extension.ArtisanExtension;
+import sh.miles.artisan.extension.ClassVisitorHandler;
 import sh.miles.artisan.extension.ContainerHandler;
+import sh.miles.artisan.util.ArtisanSymbolTable;
 import sh.miles.artisan.util.ArtisanUtils;
 import sh.miles.artisan.util.JvmClasspath;
 import sh.miles.artisan.util.log.ArtisanLogger;
 import sh.miles.artisan.visitor.LiteralResult;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
 import static org.objectweb.asm.Opcodes.ACC_PROTECTED;
 import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ASM9;
 
 /**
  * A Built in plugin for simple access transformations.
@@ -33,12 +45,43 @@ import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
 @NullMarked
 public class ArtisanAccessTransformationExtension implements ArtisanExtension {
 
+    @Nullable
+    private final ArtisanSymbolTable symbols;
+    @Nullable
+    private final ArtisanClassHierarchy hierarchy;
+
     /**
-     * Creates a new extension
+     * Creates a new extension, each set of built handlers interns its symbols through its own table
      *
      * @since 1.0.0
      */
     public ArtisanAccessTransformationExtension() {
+        this.symbols = null;
+        this.hierarchy = null;
+    }
+
+    /**
+     * Creates a new extension which interns class paths and member names through the provided symbol table, allowing
+     * the table to be shared across files
+     *
+     * @param symbols the symbol table to intern through
+     * @since 1.1.0
+     */
+    public ArtisanAccessTransformationExtension(ArtisanSymbolTable symbols) {
+        this(symbols, null);
+    }
+
+    /**
+     * Creates a new extension which resolves inherited transformations through the whole supertype chain of the
+     * provided hierarchy. Without a hierarchy only the direct super class and interfaces of a class are inherited from
+     *
+     * @param symbols   the symbol table to intern through
+     * @param hierarchy the hierarchy to resolve supertypes from, or null to only inherit from direct supertypes
+     * @since 1.1.0
+     */
+    public ArtisanAccessTransformationExtension(ArtisanSymbolTable symbols, @Nullable ArtisanClassHierarchy hierarchy) {
+        this.symbols = symbols;
+        this.hierarchy = hierarchy;
     }
 
     @Override
@@ -48,22 +91,31 @@ public class ArtisanAccessTransformationExtension implements ArtisanExtension {
 
     @Override
     public String version() {
-        return "1.0.0";
+        return "1.1.0";
     }
 
     @Override
     public List<ContainerHandler> buildHandlers() {
-        return List.of(new ArtisanAccessTransformationHandler());
+        return List.of(new ArtisanAccessTransformationHandler(this.symbols == null ? new ArtisanSymbolTable() : this.symbols, this.hierarchy));
     }
 
-    private static class ArtisanAccessTransformationHandler implements ContainerHandler {
+    private static class ArtisanAccessTransformationHandler implements ClassVisitorHandler, AccessFlagHandler {
+
+        private Map<String, MemberTable> declared = new HashMap<>();
+        private final Map<String, MemberTable> flattened = new ConcurrentHashMap<>();
+        private Set<JvmClasspath> classes = new HashSet<>();
+        private final ArtisanSymbolTable symbols;
+        @Nullable
+        private final ArtisanClassHierarchy hierarchy;
 
-        private final Map<JvmClasspath, Map<String, AccessTransformer>> transformations = new HashMap<>();
-        private final Set<JvmClasspath> classes = new HashSet<>();
+        private ArtisanAccessTransformationHandler(final ArtisanSymbolTable symbols, @Nullable final ArtisanClassHierarchy hierarchy) {
+            this.symbols = symbols;
+            this.hierarchy = hierarchy;
+        }
 
         @Override
         public void parse(final LiteralResult literal, final ArtisanLogger logger) {
-            final List<String> split = ArtisanUtils.simpleSplit(literal.literal, ' ', 3);
+            final List<String> split = ArtisanUtils.simpleSplit(literal.literal, ' ', 3, this.symbols);
 
             final int access = ArtisanAccessUtil.scopeToOpcode(split.getFirst());
             if (access == -1) {
@@ -72,17 +124,35 @@ public class ArtisanAccessTransformationExtension implements ArtisanExtension {
 
             final JvmClasspath classpath = new JvmClasspath(JvmClasspath.CLASS, split.get(1), null, null);
             this.classes.add(classpath);
-            final JvmClasspath target;
             final String descriptorString = split.get(2);
+            final MemberTable table = this.declared.computeIfAbsent(classpath.path(), (k) -> new MemberTable(new HashMap<>(), new HashMap<>()));
 
-            final List<String> descriptorSplit = ArtisanUtils.simpleSplit(descriptorString, '(', 2);
-            target = new JvmClasspath(descriptorSplit.size() > 1 ? JvmClasspath.METHOD : JvmClasspath.FIELD, classpath.path(), descriptorSplit.getFirst(), descriptorSplit.size() >= 2 ? "(" + descriptorSplit.get(1) : null);
-            final Map<String, AccessTransformer> transformations = this.transformations.computeIfAbsent(classpath, (k) -> new HashMap<>());
+            // the field name or the full description of a method e.g. dog()V method vs dog field
+            final int descriptorStart = descriptorString.indexOf('(');
+            if (descriptorStart == -1) {
+                final JvmClasspath target = new JvmClasspath(JvmClasspath.FIELD, classpath.path(), descriptorString, null);
+                table.fields().put(descriptorString, new AccessTransformer(access, target));
+            } else {
+                final JvmClasspath target = new JvmClasspath(JvmClasspath.METHOD, classpath.path(), this.symbols.intern(descriptorString, 0, descriptorStart), this.symbols.intern(descriptorString, descriptorStart, descriptorString.length()));
+                table.methods().computeIfAbsent(target.name(), (k) -> new HashMap<>()).put(target.descriptor(), new AccessTransformer(access, target));
+            }
+            logger.info("Found AT Transformation %s", descriptorString);
+        }
 
-            // if not a method append field name otherwise full description dog()V method vs dog field
-            final String name = target.descriptor() == null ? target.name() : target.name() + target.descriptor();
-            transformations.put(name, new AccessTransformer(access, target));
-            logger.info("Found AT Transformation %s".formatted(name));
+        @Override
+        public void freeze() {
+            final Map<String, MemberTable> frozen = new HashMap<>(this.declared.size());
+            for (final Map.Entry<String, MemberTable> entry : this.declared.entrySet()) {
+                frozen.put(entry.getKey(), entry.getValue().freeze());
+            }
+            this.declared = Map.copyOf(frozen);
+            this.classes = Set.copyOf(this.classes);
+
+            if (this.hierarchy != null) {
+                for (final String className : this.declared.keySet()) {
+                    this.flattened.put(className, flatten(className, this.hierarchy.supertypes(className)));
+                }
+            }
         }
 
         @Override
@@ -90,27 +160,97 @@ public class ArtisanAccessTransformationExtension implements ArtisanExtension {
             return this.classes.contains(path);
         }
 
+        @Override
+        public Set<String> targetClasses() {
+            return this.declared.keySet();
+        }
+
         @Override
         public void visit(final ClassNode node, final JvmClasspath path, final ArtisanLogger logger) {
-            final Map<String, AccessTransformer> transforms = fetchTransformers(node, path);
+            final MemberTable transforms = table(path, node.superName, node.interfaces);
             if (transforms.isEmpty()) {
-                logger.info("No ATs found for " + path.path());
+                logger.info("No ATs found for %s", path.path());
                 return;
             }
 
             for (final MethodNode method : node.methods) {
-                final AccessTransformer transformer = transforms.get(method.name + method.desc);
+                final AccessTransformer transformer = transforms.method(method.name, method.desc);
                 if (transformer == null) continue;
                 method.access = transformer.merge(method.access);
-                logger.info("Applying transformer to " + transformer.classpath.path() + " " + transformer.classpath.name() + transformer.classpath.descriptor());
+                if (logger.isInfoEnabled()) {
+                    logger.info("Applying transformer to " + transformer.classpath.path() + " " + transformer.classpath.name() + transformer.classpath.descriptor());
+                }
             }
 
             for (final FieldNode field : node.fields) {
-                final AccessTransformer transformer = transforms.get(field.name);
+                final AccessTransformer transformer = transforms.field(field.name);
                 if (transformer == null) continue;
                 field.access = transformer.merge(field.access);
-                logger.info("Applying transformer to " + transformer.classpath.path() + " " + transformer.classpath.name());
+                if (logger.isInfoEnabled()) {
+                    logger.info("Applying transformer to " + transformer.classpath.path() + " " + transformer.classpath.name());
+                }
+            }
+        }
+
+        @Override
+        public ClassVisitor visitor(final ClassVisitor delegate, final JvmClasspath path, final ArtisanLogger logger) {
+            return new ClassVisitor(ASM9, delegate) {
+                private MemberTable transforms = MemberTable.EMPTY;
+
+                @Override
+                public void visit(final int version, final int access, final String name, @Nullable final String signature, @Nullable final String superName, final String @Nullable [] interfaces) {
+                    final MemberTable table = flattened.get(path.path());
+                    this.transforms = table != null ? table : table(path, superName, interfaces == null ? List.of() : Arrays.asList(interfaces));
+                    if (this.transforms.isEmpty()) {
+                        logger.info("No ATs found for %s", path.path());
+                    }
+                    super.visit(version, access, name, signature, superName, interfaces);
+                }
+
+                @Override
+                public FieldVisitor visitField(final int access, final String name, final String descriptor, @Nullable final String signature, @Nullable final Object value) {
+                    final AccessTransformer transformer = this.transforms.field(name);
+                    if (transformer == null) {
+                        return super.visitField(access, name, descriptor, signature, value);
+                    }
+
+                    if (logger.isInfoEnabled()) {
+                        logger.info("Applying transformer to " + transformer.classpath.path() + " " + transformer.classpath.name());
+                    }
+                    return super.visitField(transformer.merge(access), name, descriptor, signature, value);
+                }
+
+                @Override
+                public MethodVisitor visitMethod(final int access, final String name, final String descriptor, @Nullable final String signature, final String @Nullable [] exceptions) {
+                    final AccessTransformer transformer = this.transforms.method(name, descriptor);
+                    if (transformer == null) {
+                        return super.visitMethod(access, name, descriptor, signature, exceptions);
+                    }
+
+                    if (logger.isInfoEnabled()) {
+                        logger.info("Applying transformer to " + transformer.classpath.path() + " " + transformer.classpath.name() + transformer.classpath.descriptor());
+                    }
+                    return super.visitMethod(transformer.merge(access), name, descriptor, signature, exceptions);
+                }
+            };
+        }
+
+        @Override
+        public AccessPatch accessPatch(final JvmClasspath path, @Nullable final String superName, final List<String> interfaces, final ArtisanLogger logger) {
+            final MemberTable transforms = table(path, superName, interfaces);
+            if (transforms.isEmpty()) {
+                logger.info("No ATs found for %s", path.path());
+                return (access, name, descriptor, method) -> access;
             }
+
+            return (access, name, descriptor, method) -> {
+                final AccessTransformer transformer = method ? transforms.method(name, descriptor) : transforms.field(name);
+                if (transformer == null) return access;
+                if (logger.isInfoEnabled()) {
+                    logger.info("Applying transformer to " + transformer.classpath.path() + " " + transformer.classpath.name() + (method ? transformer.classpath.descriptor() : ""));
+                }
+                return transformer.merge(access);
+            };
         }
 
         @Override
@@ -118,24 +258,85 @@ public class ArtisanAccessTransformationExtension implements ArtisanExtension {
             return "AT";
         }
 
-        private Map<String, AccessTransformer> fetchTransformers(ClassNode node, JvmClasspath path) {
-            final Map<String, AccessTransformer> combination = new HashMap<>();
-            if (this.transformations.containsKey(path)) {
-                combination.putAll(transformations.get(path));
+        /**
+         * Gets the flattened table of a class, flattening it from its direct supertypes the first time a class is seen
+         * if no hierarchy was provided. A class always has the same supertypes, so the table is only built once
+         */
+        private MemberTable table(final JvmClasspath path, @Nullable final String superName, final List<String> interfaces) {
+            final MemberTable table = this.flattened.get(path.path());
+            if (table != null) {
+                return table;
             }
 
-            if (node.superName != null && this.transformations.containsKey(new JvmClasspath(JvmClasspath.CLASS, node.superName, null, null))) {
-                combination.putAll(transformations.get(path));
-            }
+            final List<String> supertypes = new ArrayList<>(interfaces.size() + 1);
+            if (superName != null) supertypes.add(superName);
+            supertypes.addAll(interfaces);
+            final MemberTable flattened = flatten(path.path(), supertypes);
+            final MemberTable existing = this.flattened.putIfAbsent(path.path(), flattened);
+            return existing == null ? flattened : existing;
+        }
 
-            for (final String anInterface : node.interfaces) {
-                final JvmClasspath clazz = new JvmClasspath(JvmClasspath.CLASS, anInterface, null, null);
-                if (this.transformations.containsKey(clazz)) {
-                    combination.putAll(transformations.get(clazz));
+        /**
+         * Merges the declared table of a class with those of its supertypes, the class itself and nearer supertypes
+         * take precedence over further ones
+         */
+        private MemberTable flatten(final String className, final List<String> supertypes) {
+            final MemberTable own = this.declared.get(className);
+            MemberTable flattened = own == null ? MemberTable.EMPTY : own;
+            for (final String supertype : supertypes) {
+                final MemberTable inherited = this.declared.get(supertype);
+                if (inherited != null) {
+                    flattened = flattened.inherit(inherited);
                 }
             }
+            return flattened;
+        }
+    }
 
-            return combination;
+    /**
+     * The access transformers of the fields and methods of a class, methods are looked up by name then descriptor so
+     * no key has to be built while visiting
+     *
+     * @param fields  the field transformers by name
+     * @param methods the method transformers by name then descriptor
+     */
+    private record MemberTable(Map<String, AccessTransformer> fields, Map<String, Map<String, AccessTransformer>> methods) {
+
+        private static final MemberTable EMPTY = new MemberTable(Map.of(), Map.of());
+
+        @Nullable
+        AccessTransformer field(final String name) {
+            return this.fields.get(name);
+        }
+
+        @Nullable
+        AccessTransformer method(final String name, final String descriptor) {
+            final Map<String, AccessTransformer> overloads = this.methods.get(name);
+            return overloads == null ? null : overloads.get(descriptor);
+        }
+
+        boolean isEmpty() {
+            return this.fields.isEmpty() && this.methods.isEmpty();
+        }
+
+        MemberTable freeze() {
+            final Map<String, Map<String, AccessTransformer>> methods = new HashMap<>(this.methods.size());
+            for (final Map.Entry<String, Map<String, AccessTransformer>> entry : this.methods.entrySet()) {
+                methods.put(entry.getKey(), Map.copyOf(entry.getValue()));
+            }
+            return new MemberTable(Map.copyOf(this.fields), Map.copyOf(methods));
+        }
+
+        MemberTable inherit(final MemberTable inherited) {
+            final Map<String, AccessTransformer> fields = new HashMap<>(inherited.fields);
+            fields.putAll(this.fields);
+            final Map<String, Map<String, AccessTransformer>> methods = new HashMap<>(inherited.methods);
+            for (final Map.Entry<String, Map<String, AccessTransformer>> entry : this.methods.entrySet()) {
+                final Map<String, AccessTransformer> overloads = new HashMap<>(methods.getOrDefault(entry.getKey(), Map.of()));
+                overloads.putAll(entry.getValue());
+                methods.put(entry.getKey(), overloads);
+            }
+            return new MemberTable(fields, methods).freeze();
         }
     }
 
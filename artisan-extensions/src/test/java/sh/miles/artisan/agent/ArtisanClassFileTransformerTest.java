@@ -0,0 +1,36 @@
+package sh.miles.artisan.agent;
+
+import org.junit.jupiter.api.Test;
+import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.asm.ArtisanClassEditor;
+import sh.miles.artisan.asm.TransformationPlan;
+import sh.miles.artisan.extension.builtin.ArtisanAccessTransformationExtension;
+import sh.miles.artisan.util.TestUtil;
+import sh.miles.artisan.util.log.ArtisanVoidLogger;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanClassFileTransformerTest {
+
+    @Test
+    public void testTransformOnlyTargetedClasses() throws IOException {
+        final byte[] classBytes = TestUtil.readResource("Example.class").readAllBytes();
+        final TransformationPlan plan = new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new ArtisanAccessTransformationExtension())
+                .compile();
+        final ArtisanClassFileTransformer transformer = new ArtisanClassFileTransformer(List.of(plan), new ArtisanVoidLogger());
+
+        assertNull(transformer.transform(null, "sh/miles/Untargeted", null, null, classBytes));
+        assertEquals(0, transformer.transformedClasses());
+        assertEquals(0, transformer.transformTime().toNanos());
+
+        final byte[] transformed = transformer.transform(null, "sh/miles/Example", null, null, classBytes);
+        assertArrayEquals(plan.transform(classBytes), transformed);
+        assertEquals(1, transformer.transformedClasses());
+        assertTrue(transformer.transformTime().toNanos() > 0);
+    }
+}
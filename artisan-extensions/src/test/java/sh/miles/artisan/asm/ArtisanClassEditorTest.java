@@ -3,12 +3,14 @@ package sh.miles.artisan.asm;
 import org.junit.jupiter.api.Test;
 import sh.miles.artisan.ArtisanFormat;
 import sh.miles.artisan.mock.MockArtisanExtension;
+import sh.miles.artisan.mock.MockArtisanExtension.ProbeHandler;
 import sh.miles.artisan.util.TestUtil;
 import sh.miles.artisan.util.log.ArtisanPrintStreamLogger;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,4 +39,33 @@ public class ArtisanClassEditorTest {
         }
         Files.write(path, output);
     }
+
+    @Test
+    public void testRunArtisanClassEditorStreaming() throws IOException {
+        final byte[] classBytes = TestUtil.readResource("Example.class").readAllBytes();
+        final byte[] expected = new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new MockArtisanExtension())
+                .classBytes(classBytes)
+                .run();
+        final byte[] output = new ArtisanClassEditor()
+                .syntaxStream(TestUtil.readResource("test.ajex"))
+                .extension(new MockArtisanExtension())
+                .classBytes(classBytes)
+                .run();
+        assertArrayEquals(expected, output);
+    }
+
+    @Test
+    public void testRunArtisanClassEditorUntargeted() throws IOException {
+        final byte[] classBytes = TestUtil.readResource("Example.class").readAllBytes();
+        final ProbeHandler probe = new ProbeHandler(Set.of("sh/miles/Other"), Set.of());
+        final byte[] output = new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new MockArtisanExtension("Untargeted", probe))
+                .classBytes(classBytes)
+                .run();
+        assertSame(classBytes, output);
+        assertEquals(0, probe.visits());
+    }
 }
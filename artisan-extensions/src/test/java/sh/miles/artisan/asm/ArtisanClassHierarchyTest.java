@@ -0,0 +1,82 @@
+package sh.miles.artisan.asm;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import sh.miles.artisan.util.TestUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanClassHierarchyTest {
+
+    @Test
+    public void testScanAndResolveWithoutLoading() throws IOException {
+        final Path jar = Files.createTempDirectory("artisan-hierarchy").resolve("classes.jar");
+        try (final ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar))) {
+            zip.putNextEntry(new ZipEntry("sh/miles/Example.class"));
+            zip.write(TestUtil.readResource("Example.class").readAllBytes());
+            zip.closeEntry();
+        }
+
+        final ArtisanClassHierarchy hierarchy = ArtisanClassHierarchy.create().scan(jar);
+        assertEquals("java/lang/Object", hierarchy.get("sh/miles/Example").superName());
+        assertEquals("java/lang/Number", hierarchy.commonSuperClass("java/lang/Integer", "java/lang/Long"));
+        assertEquals("java/lang/Object", hierarchy.commonSuperClass("java/lang/Integer", "sh/miles/Example"));
+        assertEquals("java/lang/CharSequence", hierarchy.commonSuperClass("java/lang/CharSequence", "java/lang/String"));
+        assertTrue(hierarchy.isAssignableFrom("java/lang/Comparable", "java/lang/String"));
+        assertEquals(List.of("java/lang/Number", "java/lang/Object"), hierarchy.supertypes("java/lang/Integer").subList(0, 2));
+    }
+
+    @Test
+    public void testClassWriterUsesHierarchy() {
+        final ArtisanClassHierarchy hierarchy = ArtisanClassHierarchy.create().fallback(null);
+        hierarchy.add(header("a/Base", "java/lang/Object"));
+        hierarchy.add(header("a/A", "a/Base"));
+        hierarchy.add(header("a/B", "a/Base"));
+
+        assertThrows(TypeNotPresentException.class, () -> hierarchy.commonSuperClass("a/A", "a/Missing"));
+        assertThrows(TypeNotPresentException.class, () -> branching(new ClassWriter(ClassWriter.COMPUTE_FRAMES)));
+        assertDoesNotThrow(() -> branching(new ArtisanClassWriter(ClassWriter.COMPUTE_FRAMES, hierarchy)));
+        assertEquals("a/Base", hierarchy.commonSuperClass("a/A", "a/B"));
+    }
+
+    private static byte[] header(final String name, final String superName) {
+        final ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V21, Opcodes.ACC_PUBLIC, name, null, superName, null);
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static byte[] branching(final ClassWriter writer) {
+        final ClassVisitor visitor = writer;
+        visitor.visit(Opcodes.V21, Opcodes.ACC_PUBLIC, "a/Branching", null, "java/lang/Object", null);
+        final MethodVisitor method = visitor.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "pick", "(Z)La/Base;", null, null);
+        method.visitCode();
+        final Label otherwise = new Label();
+        final Label end = new Label();
+        method.visitVarInsn(Opcodes.ILOAD, 0);
+        method.visitJumpInsn(Opcodes.IFEQ, otherwise);
+        method.visitInsn(Opcodes.ACONST_NULL);
+        method.visitTypeInsn(Opcodes.CHECKCAST, "a/A");
+        method.visitJumpInsn(Opcodes.GOTO, end);
+        method.visitLabel(otherwise);
+        method.visitInsn(Opcodes.ACONST_NULL);
+        method.visitTypeInsn(Opcodes.CHECKCAST, "a/B");
+        method.visitLabel(end);
+        method.visitInsn(Opcodes.ARETURN);
+        method.visitMaxs(0, 0);
+        method.visitEnd();
+        visitor.visitEnd();
+        return writer.toByteArray();
+    }
+}
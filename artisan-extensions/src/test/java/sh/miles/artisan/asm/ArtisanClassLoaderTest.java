@@ -0,0 +1,79 @@
+package sh.miles.artisan.asm;
+
+import org.junit.jupiter.api.Test;
+import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.extension.builtin.ArtisanAccessTransformationExtension;
+import sh.miles.artisan.mock.MockArtisanExtension;
+import sh.miles.artisan.mock.MockArtisanExtension.ProbeHandler;
+import sh.miles.artisan.util.TestUtil;
+
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanClassLoaderTest {
+
+    @Test
+    public void testLoadTransformedAndMemoized() throws Exception {
+        final Path directory = Files.createTempDirectory("artisan-loader");
+        Files.createDirectories(directory.resolve("sh/miles"));
+        Files.write(directory.resolve("sh/miles/Example.class"), TestUtil.readResource("Example.class").readAllBytes());
+
+        final ProbeHandler probe = new ProbeHandler(Set.of("sh/miles/Example"), Set.of());
+        final TransformationPlan plan = new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new ArtisanAccessTransformationExtension())
+                .extension(new MockArtisanExtension("Counting", probe))
+                .compile();
+
+        final URL[] urls = new URL[]{directory.toUri().toURL()};
+        try (final ArtisanClassLoader loader = new ArtisanClassLoader(urls, null, plan);
+             final ArtisanClassLoader reloaded = new ArtisanClassLoader(urls, null, loader)) {
+            final Class<?> clazz = loader.loadClass("sh.miles.Example");
+            assertSame(loader, clazz.getClassLoader());
+            assertEquals(urls[0], clazz.getProtectionDomain().getCodeSource().getLocation());
+            assertTrue(Modifier.isPublic(clazz.getDeclaredField("STATIC_FIELD").getModifiers()));
+            assertTrue(Modifier.isPublic(clazz.getDeclaredMethod("doThing").getModifiers()));
+
+            final Class<?> reloadedClazz = reloaded.loadClass("sh.miles.Example");
+            assertNotSame(clazz, reloadedClazz);
+            assertTrue(Modifier.isPublic(reloadedClazz.getDeclaredField("field").getModifiers()));
+            assertEquals(1, probe.visits());
+            assertThrows(ClassNotFoundException.class, () -> loader.loadClass("sh.miles.Missing"));
+        }
+    }
+
+    @Test
+    public void testDefinesCodeSourceAndPackage() throws Exception {
+        final Path jar = Files.createTempFile("artisan-loader", ".jar");
+        final Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.IMPLEMENTATION_TITLE, "Example");
+        try (final JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar), manifest)) {
+            output.putNextEntry(new JarEntry("sh/miles/Example.class"));
+            output.write(TestUtil.readResource("Example.class").readAllBytes());
+            output.closeEntry();
+        }
+
+        final TransformationPlan plan = new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new ArtisanAccessTransformationExtension())
+                .compile();
+        final URL url = jar.toUri().toURL();
+        try (final ArtisanClassLoader loader = new ArtisanClassLoader(new URL[]{url}, null, plan)) {
+            final Class<?> clazz = loader.loadClass("sh.miles.Example");
+            assertEquals(url, clazz.getProtectionDomain().getCodeSource().getLocation());
+            assertEquals("Example", clazz.getPackage().getImplementationTitle());
+        } finally {
+            Files.deleteIfExists(jar);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package sh.miles.artisan.asm;
+
+import org.junit.jupiter.api.Test;
+import sh.miles.artisan.extension.ContainerHandler;
+import sh.miles.artisan.mock.MockArtisanExtension.ProbeHandler;
+import sh.miles.artisan.util.JvmClasspath;
+import sh.miles.artisan.util.log.ArtisanVoidLogger;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanHandlerRouterTest {
+
+    @Test
+    public void testRouteByClassPackageAndProbe() {
+        final ProbeHandler exact = new ProbeHandler(Set.of("sh/miles/Example"), Set.of());
+        final ProbeHandler packaged = new ProbeHandler(Set.of(), Set.of("sh/miles"));
+        final ProbeHandler probed = new ProbeHandler(null, Set.of());
+        final ArtisanHandlerRouter router = new ArtisanHandlerRouter(List.of(exact, packaged, probed));
+
+        assertEquals(List.of(exact, packaged, probed), route(router, "sh/miles/Example"));
+        assertEquals(List.of(packaged, probed), route(router, "sh/miles/deep/Other"));
+        assertEquals(List.of(probed), route(router, "sh/milesx/Other"));
+        assertEquals(List.of(probed), route(router, "Example"));
+    }
+
+    @Test
+    public void testTargetsByName() {
+        final ArtisanHandlerRouter router = new ArtisanHandlerRouter(List.of(
+                new ProbeHandler(Set.of("sh/miles/Example"), Set.of()),
+                new ProbeHandler(Set.of(), Set.of("sh/miles/deep"))
+        ));
+
+        assertTrue(router.targets("sh/miles/Example"));
+        assertTrue(router.targets("sh/miles/deep/inner/Other"));
+        assertFalse(router.targets("sh/miles/Other"));
+        assertFalse(router.targets("Example"));
+        assertTrue(new ArtisanHandlerRouter(List.of(new ProbeHandler(null, Set.of()))).targets("Example"));
+    }
+
+    private static List<ContainerHandler> route(final ArtisanHandlerRouter router, final String path) {
+        return router.route(new JvmClasspath(JvmClasspath.CLASS, path, null, null), null, new ArtisanVoidLogger());
+    }
+}
@@ -0,0 +1,122 @@
+package sh.miles.artisan.asm;
+
+import org.junit.jupiter.api.Test;
+import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.extension.builtin.ArtisanAccessTransformationExtension;
+import sh.miles.artisan.mock.MockArtisanExtension;
+import sh.miles.artisan.util.TestUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanJarTransformerTest {
+
+    @Test
+    public void testTransformJarKeepsOrderAndResources() throws IOException {
+        final byte[] classBytes = TestUtil.readResource("Example.class").readAllBytes();
+        final byte[] resource = "not a class".getBytes(StandardCharsets.UTF_8);
+        final Path directory = Files.createTempDirectory("artisan-jar");
+        final Path input = directory.resolve("input.jar");
+        final Path output = directory.resolve("output.jar");
+        final List<String> names = new ArrayList<>();
+        try (final ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(input))) {
+            zip.putNextEntry(new ZipEntry("sh/"));
+            zip.closeEntry();
+            names.add("sh/");
+            for (int i = 0; i < 64; i++) {
+                final String name = i % 2 == 0 ? "sh/miles/Example" + i + ".class" : "assets/resource" + i + ".txt";
+                zip.putNextEntry(new ZipEntry(name));
+                zip.write(i % 2 == 0 ? classBytes : resource);
+                zip.closeEntry();
+                names.add(name);
+            }
+        }
+
+        final byte[] expected = new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new MockArtisanExtension())
+                .classBytes(classBytes)
+                .run();
+        new ArtisanJarTransformer(new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new MockArtisanExtension()))
+                .transform(input, output);
+
+        try (final ZipFile zip = new ZipFile(output.toFile())) {
+            final List<String> actual = new ArrayList<>();
+            for (final ZipEntry entry : Collections.list(zip.entries())) {
+                actual.add(entry.getName());
+                if (entry.isDirectory()) continue;
+                final byte[] bytes = zip.getInputStream(entry).readAllBytes();
+                assertArrayEquals(entry.getName().endsWith(".class") ? expected : resource, bytes);
+            }
+            assertEquals(names, actual);
+        }
+    }
+
+    @Test
+    public void testTransformSignedJarDropsSignatures() throws IOException {
+        final Path directory = Files.createTempDirectory("artisan-jar");
+        final Path input = directory.resolve("input.jar");
+        final Path output = directory.resolve("output.jar");
+        try (final InputStream stream = TestUtil.readResource("Example-signed.jar")) {
+            Files.copy(stream, input);
+        }
+
+        new ArtisanJarTransformer(new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new MockArtisanExtension()))
+                .transform(input, output);
+
+        try (final JarFile jar = new JarFile(output.toFile(), true)) {
+            final List<String> names = new ArrayList<>();
+            for (final JarEntry entry : Collections.list(jar.entries())) {
+                names.add(entry.getName());
+                assertDoesNotThrow(() -> jar.getInputStream(entry).readAllBytes());
+            }
+            assertEquals(List.of("META-INF/MANIFEST.MF", "META-INF/", "sh/miles/Example.class", "resource.txt"), names);
+            assertTrue(jar.getManifest().getEntries().isEmpty());
+        }
+    }
+
+    @Test
+    public void testTransformSignedJarKeepsSignaturesOfUnchangedClasses() throws IOException {
+        final Path directory = Files.createTempDirectory("artisan-jar");
+        final Path input = directory.resolve("input.jar");
+        final Path output = directory.resolve("output.jar");
+        try (final InputStream stream = TestUtil.readResource("Example-signed.jar")) {
+            Files.copy(stream, input);
+        }
+
+        final String syntax = """
+                ~AT
+                public sh/miles/Other field
+                ~AT
+                """;
+        new ArtisanJarTransformer(new ArtisanClassEditor()
+                .syntaxStream(new ByteArrayInputStream(syntax.getBytes(StandardCharsets.UTF_8)))
+                .extension(new ArtisanAccessTransformationExtension()))
+                .transform(input, output);
+
+        try (final JarFile jar = new JarFile(output.toFile(), true)) {
+            final JarEntry entry = jar.getJarEntry("sh/miles/Example.class");
+            jar.getInputStream(entry).readAllBytes();
+            assertNotNull(entry.getCodeSigners());
+            assertNotNull(jar.getEntry("META-INF/ARTISAN.SF"));
+        }
+    }
+}
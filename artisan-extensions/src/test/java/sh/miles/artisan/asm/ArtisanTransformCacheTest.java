@@ -0,0 +1,116 @@
+package sh.miles.artisan.asm;
+
+import org.junit.jupiter.api.Test;
+import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.extension.ArtisanExtension;
+import sh.miles.artisan.mock.MockArtisanExtension;
+import sh.miles.artisan.mock.MockArtisanExtension.ProbeHandler;
+import sh.miles.artisan.util.TestUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanTransformCacheTest {
+
+    @Test
+    public void testFingerprintMatchesAcrossSyntaxSources() throws IOException {
+        final TransformationPlan tree = new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new MockArtisanExtension())
+                .compile();
+        final TransformationPlan stream = new ArtisanClassEditor()
+                .syntaxStream(TestUtil.readResource("test.ajex"))
+                .extension(new MockArtisanExtension())
+                .compile();
+        final TransformationPlan other = new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new MockArtisanExtension())
+                .extension(counting(new ProbeHandler(Set.of("sh/miles/Example"), Set.of())))
+                .compile();
+
+        assertArrayEquals(tree.fingerprint(), stream.fingerprint());
+        assertFalse(Arrays.equals(tree.fingerprint(), other.fingerprint()));
+    }
+
+    @Test
+    public void testCacheServesWarmEntriesFromDisk() throws IOException {
+        final byte[] classBytes = TestUtil.readResource("Example.class").readAllBytes();
+        final Path directory = Files.createTempDirectory("artisan-cache");
+        final ProbeHandler coldProbe = new ProbeHandler(Set.of("sh/miles/Example"), Set.of());
+
+        final TransformationPlan cold = plan(coldProbe);
+        final byte[] expected = cold.transform(classBytes);
+        assertEquals(1, coldProbe.visits());
+        assertArrayEquals(expected, ArtisanTransformCache.open(directory, Long.MAX_VALUE, 16).transform(cold, classBytes));
+        assertEquals(2, coldProbe.visits());
+
+        final ProbeHandler warmProbe = new ProbeHandler(Set.of("sh/miles/Example"), Set.of());
+        final ArtisanTransformCache warm = ArtisanTransformCache.open(directory, Long.MAX_VALUE, 16);
+        assertEquals(expected.length, warm.diskSize());
+        assertArrayEquals(expected, warm.transform(plan(warmProbe), classBytes));
+        assertEquals(0, warmProbe.visits());
+    }
+
+    @Test
+    public void testEditorReturnsCopiesOfCachedClasses() throws IOException {
+        final byte[] classBytes = TestUtil.readResource("Example.class").readAllBytes();
+        final ArtisanClassEditor editor = new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new MockArtisanExtension())
+                .cache(ArtisanTransformCache.open(Files.createTempDirectory("artisan-cache"), Long.MAX_VALUE, 16))
+                .classBytes(classBytes);
+
+        final byte[] first = editor.run();
+        final byte[] expected = first.clone();
+        Arrays.fill(first, (byte) 0);
+        assertArrayEquals(expected, editor.run());
+    }
+
+    @Test
+    public void testCacheEvictsLeastRecentlyUsed() throws IOException, InterruptedException {
+        final Path directory = Files.createTempDirectory("artisan-cache");
+        final ArtisanTransformCache cache = ArtisanTransformCache.open(directory, 100, 0);
+        for (int i = 0; i < 10; i++) {
+            cache.put(key(i), new byte[10]);
+            Thread.sleep(20);
+        }
+        assertNotNull(cache.get(key(0)));
+        Thread.sleep(20);
+        cache.put(key(10), new byte[10]);
+
+        assertEquals(90, cache.diskSize());
+        assertNotNull(cache.get(key(0)));
+        assertNull(cache.get(key(1)));
+        assertNull(cache.get(key(2)));
+        assertNotNull(cache.get(key(3)));
+        assertNotNull(cache.get(key(10)));
+    }
+
+    @Test
+    public void testCacheRejectsInvalidKeys() throws IOException {
+        final ArtisanTransformCache cache = ArtisanTransformCache.open(Files.createTempDirectory("artisan-cache"), 100, 0);
+        assertThrows(IllegalArgumentException.class, () -> cache.get("a"));
+        assertThrows(IllegalArgumentException.class, () -> cache.put("../" + key(0).substring(3), new byte[1]));
+        assertThrows(IllegalArgumentException.class, () -> cache.get(key(0).toUpperCase().replace('0', 'A')));
+    }
+
+    private static TransformationPlan plan(final ProbeHandler probe) throws IOException {
+        return new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(counting(probe))
+                .compile();
+    }
+
+    private static ArtisanExtension counting(final ProbeHandler probe) {
+        return new MockArtisanExtension("Counting", probe);
+    }
+
+    private static String key(final int index) {
+        return "%064x".formatted(index);
+    }
+}
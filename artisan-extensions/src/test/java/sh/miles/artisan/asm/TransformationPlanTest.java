@@ -0,0 +1,154 @@
+package sh.miles.artisan.asm;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.extension.builtin.ArtisanAccessTransformationExtension;
+import sh.miles.artisan.mock.MockArtisanExtension;
+import sh.miles.artisan.util.TestUtil;
+import sh.miles.artisan.util.metrics.ArtisanMetrics;
+import sh.miles.artisan.util.metrics.ArtisanMetricsSnapshot;
+import sh.miles.artisan.util.metrics.ArtisanRecordingMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransformationPlanTest {
+
+    @Test
+    public void testPlanTransformsConcurrently() throws IOException, InterruptedException, ExecutionException {
+        final byte[] classBytes = TestUtil.readResource("Example.class").readAllBytes();
+        final byte[] expected = new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new MockArtisanExtension())
+                .classBytes(classBytes)
+                .run();
+
+        final ArtisanClassEditor editor = new ArtisanClassEditor()
+                .syntaxTreeReader(ArtisanFormat.asReader(TestUtil.readResource("test.ajex")))
+                .extension(new MockArtisanExtension());
+        final TransformationPlan plan = editor.compile();
+        assertSame(plan, editor.compile());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> plan.transform(classBytes)));
+            }
+
+            for (final Future<byte[]> result : results) {
+                assertArrayEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testRecordsMetrics() throws IOException {
+        final byte[] classBytes = TestUtil.readResource("Example.class").readAllBytes();
+        final ArtisanRecordingMetrics metrics = new ArtisanRecordingMetrics();
+        final TransformationPlan plan = new ArtisanClassEditor()
+                .syntaxStream(TestUtil.readResource("test.ajex"))
+                .extension(new MockArtisanExtension())
+                .metrics(metrics)
+                .compile();
+        final byte[] transformed = plan.transform(classBytes);
+
+        final ArtisanMetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.timer(ArtisanMetrics.PLAN_COMPILE).count());
+        assertEquals(1, snapshot.timer(ArtisanMetrics.FORMAT_PARSE).count());
+        assertEquals(4, snapshot.counter(ArtisanMetrics.LITERALS_PREFIX + "NAIVE_TEST_AT"));
+        assertEquals(1, snapshot.counter(ArtisanMetrics.CLASSES_SCANNED));
+        assertEquals(1, snapshot.counter(ArtisanMetrics.CLASSES_MATCHED));
+        assertEquals(1, snapshot.counter(ArtisanMetrics.CLASSES_MODIFIED));
+        assertEquals(0, snapshot.counter(ArtisanMetrics.CLASSES_PASSED));
+        assertEquals(classBytes.length, snapshot.counter(ArtisanMetrics.BYTES_IN));
+        assertEquals(transformed.length, snapshot.counter(ArtisanMetrics.BYTES_OUT));
+        assertEquals(1, snapshot.timer(ArtisanMetrics.HANDLER_PREFIX + "NAIVE_TEST_AT").count());
+        assertEquals(1, snapshot.timer(ArtisanMetrics.CLASS_READ).count());
+        assertEquals(1, snapshot.timer(ArtisanMetrics.CLASS_NODE).count());
+        assertEquals(1, snapshot.timer(ArtisanMetrics.CLASS_WRITE).count());
+    }
+
+    @Test
+    public void testEmitsFlightRecorderEvents() throws IOException {
+        final byte[] classBytes = TestUtil.readResource("Example.class").readAllBytes();
+        final Path dump = Files.createTempFile("artisan", ".jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable("sh.miles.artisan.Format");
+            recording.enable("sh.miles.artisan.Compile");
+            recording.enable("sh.miles.artisan.Transform");
+            recording.enable("sh.miles.artisan.HandlerVisit");
+            recording.start();
+            new ArtisanClassEditor()
+                    .syntaxStream(TestUtil.readResource("test.ajex"))
+                    .extension(new MockArtisanExtension())
+                    .compile()
+                    .transform(classBytes);
+            recording.stop();
+            recording.dump(dump);
+
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+            final RecordedEvent parse = find(events, "sh.miles.artisan.Format");
+            assertEquals("format.parse", parse.getString("operation"));
+            assertEquals(1, find(events, "sh.miles.artisan.Compile").getInt("handlers"));
+
+            final RecordedEvent transform = find(events, "sh.miles.artisan.Transform");
+            assertEquals("sh/miles/Example", transform.getString("className"));
+            assertEquals(classBytes.length, transform.getLong("bytesIn"));
+            assertTrue(transform.getBoolean("modified"));
+
+            final RecordedEvent visit = find(events, "sh.miles.artisan.HandlerVisit");
+            assertEquals("NAIVE_TEST_AT", visit.getString("container"));
+            assertEquals(new MockArtisanExtension().name(), visit.getString("extension"));
+            assertEquals("node", visit.getString("pass"));
+            assertTrue(visit.getBoolean("succeeded"));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    public void testEmitsHandlerEventsForPatches() throws IOException {
+        final byte[] classBytes = TestUtil.readResource("Example.class").readAllBytes();
+        final Path dump = Files.createTempFile("artisan", ".jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable("sh.miles.artisan.HandlerVisit");
+            recording.start();
+            new ArtisanClassEditor()
+                    .syntaxStream(TestUtil.readResource("test.ajex"))
+                    .extension(new ArtisanAccessTransformationExtension())
+                    .compile()
+                    .transform(classBytes);
+            recording.stop();
+            recording.dump(dump);
+
+            final RecordedEvent visit = find(RecordingFile.readAllEvents(dump), "sh.miles.artisan.HandlerVisit");
+            assertEquals("sh/miles/Example", visit.getString("className"));
+            assertEquals("patch", visit.getString("pass"));
+            assertTrue(visit.getBoolean("succeeded"));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static RecordedEvent find(final List<RecordedEvent> events, final String name) {
+        return events.stream()
+                .filter((event) -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseGet(() -> fail("No %s event was recorded".formatted(name)));
+    }
+}
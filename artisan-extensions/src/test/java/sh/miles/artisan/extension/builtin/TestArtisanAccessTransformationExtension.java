@@ -1,12 +1,25 @@
 package sh.miles.artisan.extension.builtin;
 
 import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
 import sh.miles.artisan.ArtisanFormat;
 import sh.miles.artisan.asm.ArtisanClassEditor;
+import sh.miles.artisan.extension.ClassVisitorHandler;
+import sh.miles.artisan.extension.ContainerHandler;
+import sh.miles.artisan.util.JvmClasspath;
 import sh.miles.artisan.util.TestUtil;
+import sh.miles.artisan.util.log.ArtisanLogger;
 import sh.miles.artisan.util.log.ArtisanPrintStreamLogger;
+import sh.miles.artisan.visitor.LiteralResult;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -44,4 +57,74 @@ public class TestArtisanAccessTransformationExtension {
         final byte[] result = assertDoesNotThrow(() -> editor().run());
         write(result);
     }
+
+    @Test
+    public void testVisitorWidensAccess() throws IOException {
+        final ArtisanLogger logger = new ArtisanPrintStreamLogger(System.out);
+        final ContainerHandler handler = new ArtisanAccessTransformationExtension().buildHandlers().get(0);
+        for (final LiteralResult literal : ArtisanFormat.asReader(TestUtil.readResource("test.ajex")).getLiterals(handler.containerName())) {
+            handler.parse(literal, logger);
+        }
+        handler.freeze();
+
+        final ClassReader reader = new ClassReader(TestUtil.readResource("Example.class").readAllBytes());
+        final ClassWriter writer = new ClassWriter(reader, 0);
+        final JvmClasspath classpath = new JvmClasspath(JvmClasspath.CLASS, reader.getClassName(), null, null);
+        reader.accept(((ClassVisitorHandler) handler).visitor(writer, classpath, logger), 0);
+
+        final ClassNode node = new ClassNode();
+        new ClassReader(writer.toByteArray()).accept(node, 0);
+        for (final FieldNode field : node.fields) {
+            assertTrue((field.access & Opcodes.ACC_PUBLIC) != 0, field.name);
+        }
+
+        for (final MethodNode method : node.methods) {
+            if (method.name.equals("doThing")) {
+                assertTrue((method.access & Opcodes.ACC_PUBLIC) != 0);
+            }
+        }
+    }
+
+    @Test
+    public void testPatchOnlyChangesAccessFlags() throws IOException {
+        final byte[] original = TestUtil.readResource("Example.class").readAllBytes();
+        final byte[] patched = editor().run();
+        assertEquals(original.length, patched.length);
+
+        int changed = 0;
+        for (int i = 0; i < original.length; i++) {
+            if (original[i] != patched[i]) changed++;
+        }
+        assertTrue(changed > 0 && changed <= 8);
+    }
+
+    @Test
+    public void testInheritsFromSuperClass() {
+        final String syntax = """
+                ~AT
+                public a/Base secret
+                public a/Base hidden()V
+                protected a/Child own
+                ~AT
+                """;
+        final ClassWriter writer = new ClassWriter(0);
+        writer.visit(Opcodes.V21, Opcodes.ACC_PUBLIC, "a/Child", null, "a/Base", null);
+        writer.visitField(Opcodes.ACC_PRIVATE, "secret", "I", null, null).visitEnd();
+        writer.visitField(Opcodes.ACC_PRIVATE, "own", "I", null, null).visitEnd();
+        writer.visitMethod(Opcodes.ACC_PRIVATE, "hidden", "()V", null, null).visitEnd();
+        writer.visitMethod(Opcodes.ACC_PRIVATE, "hidden", "(I)V", null, null).visitEnd();
+        writer.visitEnd();
+
+        final byte[] result = new ArtisanClassEditor()
+                .extension(new ArtisanAccessTransformationExtension())
+                .syntaxStream(new ByteArrayInputStream(syntax.getBytes(StandardCharsets.UTF_8)))
+                .classBytes(writer.toByteArray())
+                .run();
+        final ClassNode node = new ClassNode();
+        new ClassReader(result).accept(node, 0);
+        assertEquals(Opcodes.ACC_PUBLIC, node.fields.get(0).access);
+        assertEquals(Opcodes.ACC_PROTECTED, node.fields.get(1).access);
+        assertEquals(Opcodes.ACC_PUBLIC, node.methods.get(0).access);
+        assertEquals(Opcodes.ACC_PRIVATE, node.methods.get(1).access);
+    }
 }
@@ -18,16 +18,26 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class MockArtisanExtension implements ArtisanExtension {
 
-    private final List<ContainerHandler> handlers = List.of(
-            new ProbeHandler()
-    );
+    private final String name;
+    private final List<ContainerHandler> handlers;
+
+    public MockArtisanExtension() {
+        this("MockExtension", new ProbeHandler());
+    }
+
+    public MockArtisanExtension(final String name, final ProbeHandler probe) {
+        this.name = name;
+        this.handlers = List.of(probe);
+    }
 
     @Override
     public String name() {
-        return "MockExtension";
+        return this.name;
     }
 
     @Override
@@ -40,9 +50,21 @@ public class MockArtisanExtension implements ArtisanExtension {
         return this.handlers;
     }
 
-    static class ProbeHandler implements ContainerHandler {
+    public static class ProbeHandler implements ContainerHandler {
 
         private final List<AccessTransformation> transformations = new ArrayList<>();
+        private final AtomicInteger visits = new AtomicInteger();
+        private final @Nullable Set<String> targetClasses;
+        private final Set<String> targetPackages;
+
+        public ProbeHandler() {
+            this(null, Set.of());
+        }
+
+        public ProbeHandler(final @Nullable Set<String> targetClasses, final Set<String> targetPackages) {
+            this.targetClasses = targetClasses;
+            this.targetPackages = targetPackages;
+        }
 
         @Override
         public void parse(final LiteralResult literal, ArtisanLogger logger) {
@@ -59,6 +81,7 @@ public class MockArtisanExtension implements ArtisanExtension {
 
         @Override
         public void visit(final ClassNode node, final JvmClasspath path, ArtisanLogger logger) {
+            visits.incrementAndGet();
             // yolo for mock it'll always be what we want
             final Map<JvmClasspath, Object> nodes = new HashMap<>();
             for (final FieldNode field : node.fields) {
@@ -90,13 +113,36 @@ public class MockArtisanExtension implements ArtisanExtension {
 
         @Override
         public boolean doesModify(final JvmClasspath path) {
-            return true;
+            if (targetClasses == null || targetClasses.contains(path.path())) {
+                return true;
+            }
+
+            for (final String targetPackage : targetPackages) {
+                if (path.path().startsWith(targetPackage + "/")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public @Nullable Set<String> targetClasses() {
+            return targetClasses;
+        }
+
+        @Override
+        public Set<String> targetPackages() {
+            return targetPackages;
         }
 
         @Override
         public String containerName() {
             return "NAIVE_TEST_AT";
         }
+
+        public int visits() {
+            return visits.get();
+        }
     }
 
     protected record AccessTransformation(int access, JvmClasspath path) {
@@ -1,15 +1,27 @@
 package sh.miles.artisan;
 
 import org.jspecify.annotations.NullMarked;
+import sh.miles.artisan.parser.event.ArtisanEventHandler;
+import sh.miles.artisan.parser.event.ArtisanEventParser;
 import sh.miles.artisan.parser.node.ArtisanSyntaxNode;
 import sh.miles.artisan.parser.token.ArtisanParseToken;
+import sh.miles.artisan.parser.token.ArtisanTokenBuffer;
 import sh.miles.artisan.parser.token.ArtisanTokenizer;
 import sh.miles.artisan.util.ArtisanUtils;
+import sh.miles.artisan.util.metrics.ArtisanMetrics;
+import sh.miles.artisan.util.metrics.ArtisanVoidMetrics;
 import sh.miles.artisan.visitor.ArtisanNodeReader;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 /**
  * Main access point for all artisan API. All you need in one easy to access class
@@ -26,6 +38,15 @@ public final class ArtisanFormat {
      */
     public static final String FILE_EXTENSION = ".ajex";
 
+    /**
+     * The size in bytes at which files are memory mapped instead of read onto the heap
+     *
+     * @since 1.1.0
+     */
+    public static final long MAPPED_READ_THRESHOLD = 1024 * 1024;
+
+    private static final ArtisanMetrics NO_METRICS = new ArtisanVoidMetrics();
+
     private ArtisanFormat() {
         throw ArtisanUtils.utilityClass(getClass());
     }
@@ -33,9 +54,9 @@ public final class ArtisanFormat {
     /**
      * Creates a reader from the provided stream
      * <p>
-     * This method chains {@link #asReader(ArtisanSyntaxNode)}, {@link #asTree(List)}, and
-     * {@link #tokenize(InputStream)}. This method is best used when no in depth configuration is needed with the
-     * underlying AST. Seeing as the {@link ArtisanNodeReader} provided can retrieve all needed information.
+     * This method chains {@link #asReader(ArtisanSyntaxNode)} and {@link #asTree(InputStream)}. This method is best
+     * used when no in depth configuration is needed with the underlying AST. Seeing as the {@link ArtisanNodeReader}
+     * provided can retrieve all needed information.
      *
      * @param stream the stream to derive the reader from
      * @return the created reader
@@ -43,7 +64,49 @@ public final class ArtisanFormat {
      * @since 1.0.0
      */
     public static ArtisanNodeReader asReader(final InputStream stream) {
-        return new ArtisanNodeReader(asTree(tokenize(stream)));
+        return new ArtisanNodeReader(asTree(stream));
+    }
+
+    /**
+     * Creates a reader from the provided file
+     * <p>
+     * This method chains {@link #asReader(ArtisanSyntaxNode)} and {@link #asTree(Path)}.
+     *
+     * @param path the file to derive the reader from
+     * @return the created reader
+     * @throws IllegalArgumentException if any arguments are violated during the chaining method
+     * @since 1.1.0
+     */
+    public static ArtisanNodeReader asReader(final Path path) {
+        return new ArtisanNodeReader(asTree(path));
+    }
+
+    /**
+     * Creates a frozen reader from the provided stream, which indexes containers and their literals once so it can be
+     * reused and shared across threads
+     *
+     * @param stream the stream to derive the reader from
+     * @return the created reader
+     * @throws IllegalArgumentException if any arguments are violated during the chaining method
+     * @see ArtisanNodeReader#indexed(ArtisanSyntaxNode)
+     * @since 1.1.0
+     */
+    public static ArtisanNodeReader asIndexedReader(final InputStream stream) {
+        return ArtisanNodeReader.indexed(asTree(stream));
+    }
+
+    /**
+     * Creates a frozen reader from the provided file, which indexes containers and their literals once so it can be
+     * reused and shared across threads
+     *
+     * @param path the file to derive the reader from
+     * @return the created reader
+     * @throws IllegalArgumentException if any arguments are violated during the chaining method
+     * @see ArtisanNodeReader#indexed(ArtisanSyntaxNode)
+     * @since 1.1.0
+     */
+    public static ArtisanNodeReader asIndexedReader(final Path path) {
+        return ArtisanNodeReader.indexed(asTree(path));
     }
 
     /**
@@ -61,14 +124,190 @@ public final class ArtisanFormat {
     /**
      * Generates an ArtisanSyntaxTree from the provided stream
      * <p>
-     * This method does thee equivalent of a chain of {@link #asTree(List)} and {@link #tokenize(InputStream)}
+     * This method does the equivalent of a chain of {@link #asTree(List)} and {@link #tokenize(InputStream)}, however,
+     * tokens are pulled straight from the {@link ArtisanTokenizer} into the tree and never collected into a list
      *
      * @param stream the stream to use to generate the tree
      * @return the node tree
      * @since 1.0.0
      */
     public static ArtisanSyntaxNode asTree(final InputStream stream) {
-        return ArtisanSyntaxNode.generate(tokenize(stream));
+        return asTree(stream, NO_METRICS);
+    }
+
+    /**
+     * Generates an ArtisanSyntaxTree from the provided stream recording the time spent to the provided metrics
+     *
+     * @param stream  the stream to use to generate the tree
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_TREE} to
+     * @return the node tree
+     * @see #asTree(InputStream)
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asTree(final InputStream stream, final ArtisanMetrics metrics) {
+        return timed(ArtisanMetrics.FORMAT_TREE, 0, metrics, () -> ArtisanSyntaxNode.generate(new ArtisanTokenizer(stream)));
+    }
+
+    /**
+     * Generates an ArtisanSyntaxTree from the provided file
+     * <p>
+     * This method does the equivalent of a chain of {@link #asTree(List)} and {@link #tokenize(Path)}, however,
+     * tokens are pulled straight from the {@link ArtisanTokenizer} into the tree and never collected into a list
+     *
+     * @param path the file to use to generate the tree
+     * @return the node tree
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asTree(final Path path) {
+        return asTree(path, NO_METRICS);
+    }
+
+    /**
+     * Generates an ArtisanSyntaxTree from the provided file recording the time spent and bytes read to the provided
+     * metrics
+     *
+     * @param path    the file to use to generate the tree
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_TREE} and {@link ArtisanMetrics#FORMAT_BYTES}
+     *                to
+     * @return the node tree
+     * @see #asTree(Path)
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asTree(final Path path, final ArtisanMetrics metrics) {
+        final ByteBuffer content = read(path);
+        return timed(ArtisanMetrics.FORMAT_TREE, content.remaining(), metrics, () -> ArtisanSyntaxNode.generate(new ArtisanTokenizer(content)));
+    }
+
+    /**
+     * Generates an ArtisanSyntaxTree from the provided stream which only builds the literals of a container once that
+     * container is accessed
+     *
+     * @param stream the stream to use to generate the tree
+     * @return the node tree
+     * @see ArtisanSyntaxNode#generateLazy(ByteBuffer)
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asLazyTree(final InputStream stream) {
+        return asLazyTree(stream, NO_METRICS);
+    }
+
+    /**
+     * Generates a lazy ArtisanSyntaxTree from the provided stream recording the time spent and bytes read to the
+     * provided metrics
+     *
+     * @param stream  the stream to use to generate the tree
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_TREE} and {@link ArtisanMetrics#FORMAT_BYTES}
+     *                to
+     * @return the node tree
+     * @see #asLazyTree(InputStream)
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asLazyTree(final InputStream stream, final ArtisanMetrics metrics) {
+        try {
+            final ByteBuffer content = ByteBuffer.wrap(stream.readAllBytes());
+            return timed(ArtisanMetrics.FORMAT_TREE, content.remaining(), metrics, () -> ArtisanSyntaxNode.generateLazy(content));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Generates an ArtisanSyntaxTree from the provided file which only builds the literals of a container once that
+     * container is accessed
+     *
+     * @param path the file to use to generate the tree
+     * @return the node tree
+     * @see ArtisanSyntaxNode#generateLazy(ByteBuffer)
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asLazyTree(final Path path) {
+        return asLazyTree(path, NO_METRICS);
+    }
+
+    /**
+     * Generates a lazy ArtisanSyntaxTree from the provided file recording the time spent and bytes read to the provided
+     * metrics
+     *
+     * @param path    the file to use to generate the tree
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_TREE} and {@link ArtisanMetrics#FORMAT_BYTES}
+     *                to
+     * @return the node tree
+     * @see #asLazyTree(Path)
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asLazyTree(final Path path, final ArtisanMetrics metrics) {
+        final ByteBuffer content = read(path);
+        return timed(ArtisanMetrics.FORMAT_TREE, content.remaining(), metrics, () -> ArtisanSyntaxNode.generateLazy(content));
+    }
+
+    /**
+     * Generates an ArtisanSyntaxTree from the provided file building each container in parallel on the common pool
+     *
+     * @param path the file to use to generate the tree
+     * @return the node tree
+     * @see #asTreeParallel(Path, ForkJoinPool)
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asTreeParallel(final Path path) {
+        return asTreeParallel(path, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates an ArtisanSyntaxTree from the provided file building each container in parallel
+     * <p>
+     * The file is split at container boundaries, each container is tokenized and built on the provided pool, and the
+     * results are stitched together in order. The resulting tree and any validation errors thrown are identical to
+     * {@link #asTree(Path)}
+     *
+     * @param path the file to use to generate the tree
+     * @param pool the pool to build containers on
+     * @return the node tree
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asTreeParallel(final Path path, final ForkJoinPool pool) {
+        return asTreeParallel(path, pool, NO_METRICS);
+    }
+
+    /**
+     * Generates an ArtisanSyntaxTree from the provided file building each container in parallel, recording the time
+     * spent and bytes read to the provided metrics
+     *
+     * @param path    the file to use to generate the tree
+     * @param pool    the pool to build containers on
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_TREE} and {@link ArtisanMetrics#FORMAT_BYTES}
+     *                to
+     * @return the node tree
+     * @see #asTreeParallel(Path, ForkJoinPool)
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asTreeParallel(final Path path, final ForkJoinPool pool, final ArtisanMetrics metrics) {
+        final ByteBuffer content = read(path);
+        return timed(ArtisanMetrics.FORMAT_TREE, content.remaining(), metrics, () -> ArtisanSyntaxNode.generateParallel(content, pool));
+    }
+
+    /**
+     * Generates an ArtisanSyntaxNode tree from the provided token buffer
+     *
+     * @param tokens the tokens to transform into a node tree
+     * @return the node tree
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asTree(final ArtisanTokenBuffer tokens) {
+        return asTree(tokens, NO_METRICS);
+    }
+
+    /**
+     * Generates an ArtisanSyntaxNode tree from the provided token buffer recording the time spent to the provided
+     * metrics
+     *
+     * @param tokens  the tokens to transform into a node tree
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_TREE} to
+     * @return the node tree
+     * @see #asTree(ArtisanTokenBuffer)
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asTree(final ArtisanTokenBuffer tokens, final ArtisanMetrics metrics) {
+        return timed(ArtisanMetrics.FORMAT_TREE, 0, metrics, () -> ArtisanSyntaxNode.generate(tokens));
     }
 
     /**
@@ -79,7 +318,88 @@ public final class ArtisanFormat {
      * @since 1.0.0
      */
     public static ArtisanSyntaxNode asTree(final List<ArtisanParseToken> tokens) {
-        return ArtisanSyntaxNode.generate(tokens);
+        return asTree(tokens, NO_METRICS);
+    }
+
+    /**
+     * Generates an ArtisanSyntaxNode tree from the provided tokens recording the time spent to the provided metrics
+     *
+     * @param tokens  the tokens to transform into a node tree
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_TREE} to
+     * @return the node tree
+     * @see #asTree(List)
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode asTree(final List<ArtisanParseToken> tokens, final ArtisanMetrics metrics) {
+        return timed(ArtisanMetrics.FORMAT_TREE, 0, metrics, () -> ArtisanSyntaxNode.generate(tokens));
+    }
+
+    /**
+     * Parses a stream reporting everything parsed to the provided handler in a single pass. No syntax tree or token
+     * list is built
+     *
+     * @param stream  the stream to parse
+     * @param handler the handler to report parse events to
+     * @throws IllegalStateException    thrown if the stream does not form a valid structure
+     * @throws IllegalArgumentException thrown if any content of the stream is malformed
+     * @since 1.1.0
+     */
+    public static void parse(final InputStream stream, final ArtisanEventHandler handler) throws IllegalStateException, IllegalArgumentException {
+        parse(stream, handler, NO_METRICS);
+    }
+
+    /**
+     * Parses a stream reporting everything parsed to the provided handler, recording the time spent to the provided
+     * metrics
+     *
+     * @param stream  the stream to parse
+     * @param handler the handler to report parse events to
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_PARSE} to
+     * @throws IllegalStateException    thrown if the stream does not form a valid structure
+     * @throws IllegalArgumentException thrown if any content of the stream is malformed
+     * @see #parse(InputStream, ArtisanEventHandler)
+     * @since 1.1.0
+     */
+    public static void parse(final InputStream stream, final ArtisanEventHandler handler, final ArtisanMetrics metrics) throws IllegalStateException, IllegalArgumentException {
+        timed(ArtisanMetrics.FORMAT_PARSE, 0, metrics, () -> {
+            ArtisanEventParser.parse(new ArtisanTokenizer(stream), handler);
+            return null;
+        });
+    }
+
+    /**
+     * Parses a file reporting everything parsed to the provided handler in a single pass. No syntax tree or token
+     * list is built
+     *
+     * @param path    the file to parse
+     * @param handler the handler to report parse events to
+     * @throws IllegalStateException    thrown if the file does not form a valid structure
+     * @throws IllegalArgumentException thrown if any content of the file is malformed
+     * @since 1.1.0
+     */
+    public static void parse(final Path path, final ArtisanEventHandler handler) throws IllegalStateException, IllegalArgumentException {
+        parse(path, handler, NO_METRICS);
+    }
+
+    /**
+     * Parses a file reporting everything parsed to the provided handler, recording the time spent and bytes read to
+     * the provided metrics
+     *
+     * @param path    the file to parse
+     * @param handler the handler to report parse events to
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_PARSE} and {@link ArtisanMetrics#FORMAT_BYTES}
+     *                to
+     * @throws IllegalStateException    thrown if the file does not form a valid structure
+     * @throws IllegalArgumentException thrown if any content of the file is malformed
+     * @see #parse(Path, ArtisanEventHandler)
+     * @since 1.1.0
+     */
+    public static void parse(final Path path, final ArtisanEventHandler handler, final ArtisanMetrics metrics) throws IllegalStateException, IllegalArgumentException {
+        final ByteBuffer content = read(path);
+        timed(ArtisanMetrics.FORMAT_PARSE, content.remaining(), metrics, () -> {
+            ArtisanEventParser.parse(new ArtisanTokenizer(content), handler);
+            return null;
+        });
     }
 
     /**
@@ -90,12 +410,162 @@ public final class ArtisanFormat {
      * @since 1.0.0
      */
     public static List<ArtisanParseToken> tokenize(final InputStream stream) {
+        return tokenize(stream, NO_METRICS);
+    }
+
+    /**
+     * Tokenizes a stream recording the time spent to the provided metrics
+     *
+     * @param stream  the stream to tokenize
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_TOKENIZE} to
+     * @return an ordered list of tokens
+     * @see #tokenize(InputStream)
+     * @since 1.1.0
+     */
+    public static List<ArtisanParseToken> tokenize(final InputStream stream, final ArtisanMetrics metrics) {
+        return timed(ArtisanMetrics.FORMAT_TOKENIZE, 0, metrics, () -> collect(new ArtisanTokenizer(stream)));
+    }
+
+    /**
+     * Tokenizes a file
+     * <p>
+     * Files of at least {@link #MAPPED_READ_THRESHOLD} bytes are memory mapped, smaller files are read onto the heap.
+     * In both cases the content of the returned tokens are views over the read file, which are only copied once
+     * {@link ArtisanParseToken#segment()} is requested.
+     *
+     * @param path the file to tokenize
+     * @return an ordered list of tokens
+     * @since 1.1.0
+     */
+    public static List<ArtisanParseToken> tokenize(final Path path) {
+        return tokenize(path, NO_METRICS);
+    }
+
+    /**
+     * Tokenizes a file recording the time spent and bytes read to the provided metrics
+     *
+     * @param path    the file to tokenize
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_TOKENIZE} and
+     *                {@link ArtisanMetrics#FORMAT_BYTES} to
+     * @return an ordered list of tokens
+     * @see #tokenize(Path)
+     * @since 1.1.0
+     */
+    public static List<ArtisanParseToken> tokenize(final Path path, final ArtisanMetrics metrics) {
+        final ByteBuffer content = read(path);
+        return timed(ArtisanMetrics.FORMAT_TOKENIZE, content.remaining(), metrics, () -> collect(new ArtisanTokenizer(content)));
+    }
+
+    /**
+     * Tokenizes a stream into a compact {@link ArtisanTokenBuffer} instead of a list of token objects
+     *
+     * @param stream the stream to tokenize
+     * @return the buffered tokens in order
+     * @since 1.1.0
+     */
+    public static ArtisanTokenBuffer tokenizeToBuffer(final InputStream stream) {
+        return tokenizeToBuffer(stream, NO_METRICS);
+    }
+
+    /**
+     * Tokenizes a stream into a compact {@link ArtisanTokenBuffer} recording the time spent to the provided metrics
+     *
+     * @param stream  the stream to tokenize
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_TOKENIZE} to
+     * @return the buffered tokens in order
+     * @see #tokenizeToBuffer(InputStream)
+     * @since 1.1.0
+     */
+    public static ArtisanTokenBuffer tokenizeToBuffer(final InputStream stream, final ArtisanMetrics metrics) {
+        return timed(ArtisanMetrics.FORMAT_TOKENIZE, 0, metrics, () -> new ArtisanTokenizer(stream).drainTo(new ArtisanTokenBuffer()));
+    }
+
+    /**
+     * Tokenizes a file into a compact {@link ArtisanTokenBuffer} instead of a list of token objects
+     *
+     * @param path the file to tokenize
+     * @return the buffered tokens in order
+     * @since 1.1.0
+     */
+    public static ArtisanTokenBuffer tokenizeToBuffer(final Path path) {
+        return tokenizeToBuffer(path, NO_METRICS);
+    }
+
+    /**
+     * Tokenizes a file into a compact {@link ArtisanTokenBuffer} recording the time spent and bytes read to the
+     * provided metrics
+     *
+     * @param path    the file to tokenize
+     * @param metrics the metrics to record {@link ArtisanMetrics#FORMAT_TOKENIZE} and
+     *                {@link ArtisanMetrics#FORMAT_BYTES} to
+     * @return the buffered tokens in order
+     * @see #tokenizeToBuffer(Path)
+     * @since 1.1.0
+     */
+    public static ArtisanTokenBuffer tokenizeToBuffer(final Path path, final ArtisanMetrics metrics) {
+        final ByteBuffer content = read(path);
+        return timed(ArtisanMetrics.FORMAT_TOKENIZE, content.remaining(), metrics, () -> new ArtisanTokenizer(content).drainTo(new ArtisanTokenBuffer()));
+    }
+
+    /**
+     * Reads the entire content of a file choosing the cheapest strategy for the file size
+     *
+     * @param path the file to read
+     * @return the content of the file
+     * @throws IllegalArgumentException thrown if the file is too large to be addressed
+     * @since 1.1.0
+     */
+    static ByteBuffer read(final Path path) throws IllegalArgumentException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The file %s is too large to be tokenized (%d bytes)".formatted(path, size));
+            }
+
+            if (size < MAPPED_READ_THRESHOLD) {
+                final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+                    // keep reading until full
+                }
+                return buffer.flip();
+            }
+
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static List<ArtisanParseToken> collect(final ArtisanTokenizer tokenizer) {
         final List<ArtisanParseToken> collector = new ArrayList<>();
-        final ArtisanTokenizer tokenizer = new ArtisanTokenizer(stream);
         while (tokenizer.hasNext()) {
             collector.add(tokenizer.next());
         }
 
         return collector;
     }
+
+    private static <T> T timed(final String name, final long bytes, final ArtisanMetrics metrics, final Supplier<T> action) {
+        final ArtisanFormatEvent event = new ArtisanFormatEvent();
+        if (!metrics.isEnabled() && !event.isEnabled()) {
+            return action.get();
+        }
+
+        final long start = System.nanoTime();
+        event.begin();
+        try {
+            return action.get();
+        } finally {
+            if (metrics.isEnabled()) {
+                metrics.timeSince(name, start);
+                if (bytes > 0) metrics.count(ArtisanMetrics.FORMAT_BYTES, bytes);
+            }
+
+            if (event.shouldCommit()) {
+                event.operation = name;
+                event.bytes = bytes;
+                event.commit();
+            }
+        }
+    }
 }
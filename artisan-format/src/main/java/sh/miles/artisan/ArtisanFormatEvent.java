@@ -0,0 +1,32 @@
+package sh.miles.artisan;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event emitted around tokenizing, tree building and parsing of {@code .ajex} content by
+ * {@link ArtisanFormat}
+ *
+ * @since 1.1.0
+ */
+@Name("sh.miles.artisan.Format")
+@Label("Artisan Format")
+@Category({"Artisan", "Format"})
+@Description("Tokenizing, building or parsing of .ajex content")
+@StackTrace(false)
+final class ArtisanFormatEvent extends Event {
+
+    @Label("Operation")
+    @Description("The metric name of the operation, e.g. format.tokenize")
+    String operation;
+
+    @Label("Size")
+    @Description("The amount of bytes read, or 0 if the content was streamed")
+    @DataAmount
+    long bytes;
+}
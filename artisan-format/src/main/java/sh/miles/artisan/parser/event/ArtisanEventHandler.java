@@ -0,0 +1,53 @@
+package sh.miles.artisan.parser.event;
+
+import org.jspecify.annotations.NullMarked;
+import sh.miles.artisan.visitor.MetadataResult;
+
+import java.util.List;
+
+/**
+ * A handler outline that receives parse events from an {@link ArtisanEventParser} as the input is read, without any
+ * syntax tree being built in between
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public interface ArtisanEventHandler {
+
+    /**
+     * Triggered when some file wide metadata is parsed, that is metadata declared before any container is opened
+     *
+     * @param metadata the metadata
+     * @since 1.1.0
+     */
+    default void onFileMeta(MetadataResult metadata) {
+    }
+
+    /**
+     * Triggered when a container is opened
+     *
+     * @param name the name of the container
+     * @since 1.1.0
+     */
+    default void onContainerOpen(String name) {
+    }
+
+    /**
+     * Triggered when a literal is parsed within the currently open container
+     *
+     * @param literal  the literal
+     * @param metadata the metadata attached to the literal in the order it was declared
+     * @since 1.1.0
+     */
+    default void onLiteral(String literal, List<MetadataResult> metadata) {
+    }
+
+    /**
+     * Triggered when the currently open container is closed
+     *
+     * @param name the name the container was opened with
+     * @since 1.1.0
+     */
+    default void onContainerClose(String name) {
+    }
+}
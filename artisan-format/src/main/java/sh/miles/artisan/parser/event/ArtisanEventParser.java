@@ -0,0 +1,135 @@
+package sh.miles.artisan.parser.event;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.parser.token.ArtisanParseToken;
+import sh.miles.artisan.parser.token.ArtisanParseToken.ArtisanTokenType;
+import sh.miles.artisan.visitor.MetadataResult;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A push based parser that validates tokens against the structure of the {@code .ajex} format and reports what it
+ * parses to an {@link ArtisanEventHandler} in a single pass.
+ * <p>
+ * Generally calls to the ArtisanEventParser should be delegated to
+ * {@link ArtisanFormat#parse(InputStream, ArtisanEventHandler)}
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class ArtisanEventParser {
+
+    private final ArtisanEventHandler handler;
+    private final List<MetadataResult> metaCache = new ArrayList<>();
+    @Nullable
+    private String container = null;
+    private boolean hasOpenedAtAll = false;
+
+    /**
+     * Creates a new ArtisanEventParser
+     *
+     * @param handler the handler to report events to
+     * @since 1.1.0
+     */
+    public ArtisanEventParser(ArtisanEventHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Parses the next token
+     *
+     * @param token the token
+     * @throws IllegalStateException    thrown if the token is not valid in the current structure
+     * @throws IllegalArgumentException thrown if the token content is malformed
+     * @since 1.1.0
+     */
+    public void accept(ArtisanParseToken token) throws IllegalStateException, IllegalArgumentException {
+        accept(token.tokenType(), token.content());
+    }
+
+    /**
+     * Parses the next token
+     *
+     * @param type    the type of the token
+     * @param content the content of the token
+     * @throws IllegalStateException    thrown if the token is not valid in the current structure
+     * @throws IllegalArgumentException thrown if the token content is malformed
+     * @since 1.1.0
+     */
+    public void accept(@Nullable ArtisanTokenType type, CharSequence content) throws IllegalStateException, IllegalArgumentException {
+        switch (type) {
+            case META -> {
+                final MetadataResult meta = MetadataResult.parse(content.toString());
+                if (!hasOpenedAtAll) {
+                    handler.onFileMeta(meta);
+                } else {
+                    metaCache.add(meta);
+                }
+            }
+
+            case OPEN -> {
+                if (container != null) {
+                    throw new IllegalStateException("Can not open multiple function bodies at once invalid tree structure");
+                }
+
+                hasOpenedAtAll = true;
+
+                if (!metaCache.isEmpty()) {
+                    throw new IllegalStateException("can not annotate function content declarations with metadata");
+                }
+
+                container = content.toString();
+                handler.onContainerOpen(container);
+            }
+
+            case CLOSE -> {
+                if (container == null) {
+                    throw new IllegalStateException("Can not close unopened function invalid tree structure");
+                }
+
+                final String closed = container;
+                container = null;
+                handler.onContainerClose(closed);
+            }
+
+            case ENTRY -> {
+                if (container == null) {
+                    throw new IllegalStateException("Entries can not be detached from an open function content body");
+                }
+
+                final List<MetadataResult> metadata = metaCache.isEmpty() ? List.of() : List.copyOf(metaCache);
+                metaCache.clear();
+                handler.onLiteral(content.toString(), metadata);
+            }
+
+            case COMMENT -> {
+                // comments are always ignored
+            }
+
+            case null, default -> {
+                throw new IllegalStateException("Illegal tokens with null or no defined token (%s)".formatted(type));
+            }
+        }
+    }
+
+    /**
+     * Parses all tokens pulled from the provided iterator
+     *
+     * @param tokens  the tokens to parse
+     * @param handler the handler to report events to
+     * @throws IllegalStateException    thrown if the tokens do not form a valid structure
+     * @throws IllegalArgumentException thrown if any token content is malformed
+     * @since 1.1.0
+     */
+    public static void parse(Iterator<ArtisanParseToken> tokens, ArtisanEventHandler handler) throws IllegalStateException, IllegalArgumentException {
+        final ArtisanEventParser parser = new ArtisanEventParser(handler);
+        while (tokens.hasNext()) {
+            parser.accept(tokens.next());
+        }
+    }
+}
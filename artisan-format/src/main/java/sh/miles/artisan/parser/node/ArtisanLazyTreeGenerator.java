@@ -0,0 +1,118 @@
+package sh.miles.artisan.parser.node;
+
+import org.jspecify.annotations.NullMarked;
+import sh.miles.artisan.parser.event.ArtisanEventParser;
+import sh.miles.artisan.parser.node.ArtisanParallelTreeGenerator.ContainerResult;
+import sh.miles.artisan.parser.node.ArtisanParallelTreeGenerator.StitchingHandler;
+import sh.miles.artisan.parser.token.ArtisanParseToken.ArtisanTokenType;
+import sh.miles.artisan.parser.token.ArtisanTokenizer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a syntax tree that only records the name and range of every container. The body of a container is
+ * tokenized and built the first time the container is accessed.
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+final class ArtisanLazyTreeGenerator {
+
+    private final ByteBuffer content;
+
+    ArtisanLazyTreeGenerator(final ByteBuffer content) {
+        this.content = content;
+    }
+
+    ArtisanSyntaxNode generate() {
+        final List<int[]> boundaries = ArtisanParallelTreeGenerator.findContainers(this.content);
+        final StitchingHandler handler = new StitchingHandler();
+        final ArtisanEventParser spine = new ArtisanEventParser(handler);
+        int position = this.content.position();
+        for (final int[] boundary : boundaries) {
+            ArtisanParallelTreeGenerator.parseRegion(this.content, spine, position, boundary[0]);
+            position = boundary[1];
+
+            final int from = boundary[0];
+            final int to = boundary[1];
+            final String name = new ArtisanTokenizer(this.content.duplicate().position(from).limit(to)).next().segment();
+            handler.next = ContainerArtisanSyntaxNode.createLazy(name, () -> buildBody(from, to));
+            spine.accept(ArtisanTokenType.OPEN, name);
+            if (boundary[2] == 1) {
+                // metadata trailing the last literal is left pending and fails the next container open
+                for (final String meta : trailingMeta(from, to)) {
+                    spine.accept(ArtisanTokenType.META, meta);
+                }
+                spine.accept(ArtisanTokenType.CLOSE, name);
+            }
+        }
+
+        ArtisanParallelTreeGenerator.parseRegion(this.content, spine, position, this.content.limit());
+        return handler.build();
+    }
+
+    private List<ArtisanSyntaxNode> buildBody(final int from, final int to) {
+        final ContainerResult result = ArtisanParallelTreeGenerator.buildContainer(this.content, from, to);
+        if (result.failure != null) {
+            throw result.failure;
+        }
+
+        return result.container.children;
+    }
+
+    /**
+     * Scans backwards from the close tag of a container for metadata that is not followed by a literal
+     *
+     * @param from the start of the container open tag
+     * @param to   the end of the container close tag
+     * @return the trailing metadata content in declaration order
+     */
+    private List<String> trailingMeta(final int from, final int to) {
+        final List<String> trailing = new ArrayList<>();
+        int end = lineStart(from, to - 1); // start of the close tag is the end of the body
+        while (end > from) {
+            final int start = lineStart(from, end - 1);
+            final int lead = leadIndex(start, end);
+            if (lead != -1) {
+                final byte current = this.content.get(lead);
+                if (current == '@') {
+                    trailing.addFirst(line(lead + 1, end));
+                } else if (current != '#') {
+                    break;
+                }
+            }
+            end = start;
+        }
+
+        return trailing;
+    }
+
+    private int lineStart(final int from, final int index) {
+        int cursor = index;
+        if (cursor >= from && this.content.get(cursor) == '\n') cursor--;
+        while (cursor >= from && this.content.get(cursor) != '\n') {
+            cursor--;
+        }
+        return cursor + 1;
+    }
+
+    private int leadIndex(final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            final byte current = this.content.get(i);
+            if (current != '\r' && current != '\n') return i;
+        }
+        return -1;
+    }
+
+    private String line(final int start, final int end) {
+        final StringBuilder builder = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            final byte current = this.content.get(i);
+            if (current == '\r' || current == '\n') continue;
+            builder.append((char) (current & 0xFF));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,202 @@
+package sh.miles.artisan.parser.node;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import sh.miles.artisan.parser.event.ArtisanEventHandler;
+import sh.miles.artisan.parser.event.ArtisanEventParser;
+import sh.miles.artisan.parser.token.ArtisanParseToken;
+import sh.miles.artisan.parser.token.ArtisanParseToken.ArtisanTokenType;
+import sh.miles.artisan.parser.token.ArtisanTokenizer;
+import sh.miles.artisan.visitor.MetadataResult;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static sh.miles.artisan.parser.node.ContainerArtisanSyntaxNode.NodeContainerType.METADATA;
+import static sh.miles.artisan.parser.node.ContainerArtisanSyntaxNode.NodeContainerType.ROOT;
+
+/**
+ * Generates a syntax tree by splitting the content at container boundaries and building every container on a
+ * {@link ForkJoinPool}. The content between containers is parsed sequentially and the containers are stitched back
+ * in order, so the tree and any thrown exception are identical to sequential generation.
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+final class ArtisanParallelTreeGenerator {
+
+    private final ByteBuffer content;
+    private final ForkJoinPool pool;
+
+    ArtisanParallelTreeGenerator(final ByteBuffer content, final ForkJoinPool pool) {
+        this.content = content;
+        this.pool = pool;
+    }
+
+    ArtisanSyntaxNode generate() {
+        final List<int[]> boundaries = findContainers(this.content);
+        final List<ForkJoinTask<ContainerResult>> tasks = new ArrayList<>(boundaries.size());
+        for (final int[] boundary : boundaries) {
+            tasks.add(this.pool.submit(() -> buildContainer(this.content, boundary[0], boundary[1])));
+        }
+
+        final StitchingHandler handler = new StitchingHandler();
+        final ArtisanEventParser spine = new ArtisanEventParser(handler);
+        int position = this.content.position();
+        for (int i = 0; i < boundaries.size(); i++) {
+            final int[] boundary = boundaries.get(i);
+            parseRegion(this.content, spine, position, boundary[0]);
+            position = boundary[1];
+
+            final ContainerResult result = tasks.get(i).join();
+            handler.next = result.container;
+            spine.accept(ArtisanTokenType.OPEN, result.name);
+            if (result.failure != null) {
+                cancelFrom(tasks, i + 1);
+                throw result.failure;
+            }
+
+            if (result.trailingMeta != null) {
+                spine.accept(ArtisanTokenType.META, result.trailingMeta);
+            }
+
+            if (result.closed) {
+                spine.accept(ArtisanTokenType.CLOSE, result.name);
+            }
+        }
+
+        parseRegion(this.content, spine, position, this.content.limit());
+        return handler.build();
+    }
+
+    /**
+     * Scans line starts for container tags the same way {@link ArtisanTokenizer} toggles between open and close tags
+     *
+     * @param content the content to scan
+     * @return the start and end of every container including its tags, followed by 1 if the container was closed
+     */
+    static List<int[]> findContainers(final ByteBuffer content) {
+        final List<int[]> boundaries = new ArrayList<>();
+        final int limit = content.limit();
+        int position = content.position();
+        int open = -1;
+        while (position < limit) {
+            final byte lead = content.get(position);
+            if (lead == '\n' || lead == '\r') {
+                position++;
+                continue;
+            }
+
+            int end = position;
+            while (end < limit && content.get(end) != '\n') {
+                end++;
+            }
+            end = Math.min(end + 1, limit);
+
+            if (lead == '~') {
+                if (open == -1) {
+                    open = position;
+                } else {
+                    boundaries.add(new int[]{open, end, 1});
+                    open = -1;
+                }
+            }
+            position = end;
+        }
+
+        if (open != -1) {
+            boundaries.add(new int[]{open, limit, 0});
+        }
+
+        return boundaries;
+    }
+
+    static void parseRegion(final ByteBuffer content, final ArtisanEventParser spine, final int from, final int to) {
+        if (from >= to) return;
+        final ArtisanTokenizer tokenizer = new ArtisanTokenizer(content.duplicate().position(from).limit(to));
+        while (tokenizer.hasNext()) {
+            spine.accept(tokenizer.next());
+        }
+    }
+
+    static ContainerResult buildContainer(final ByteBuffer content, final int from, final int to) {
+        final ArtisanTokenizer tokenizer = new ArtisanTokenizer(content.duplicate().position(from).limit(to));
+        final ArtisanTreeBuilder builder = new ArtisanTreeBuilder();
+        final ArtisanEventParser parser = new ArtisanEventParser(builder);
+        final ArtisanParseToken open = tokenizer.next();
+        final ContainerResult result = new ContainerResult(open.segment());
+        try {
+            parser.accept(open);
+            while (tokenizer.hasNext()) {
+                final ArtisanParseToken token = tokenizer.next();
+                switch (token.tokenType()) {
+                    case META -> {
+                        if (result.trailingMeta == null) result.trailingMeta = token.content();
+                    }
+                    case ENTRY -> result.trailingMeta = null;
+                    case CLOSE -> result.closed = true;
+                    case null, default -> {
+                    }
+                }
+                parser.accept(token);
+            }
+        } catch (RuntimeException e) {
+            result.failure = e;
+            return result;
+        }
+
+        result.container = (ContainerArtisanSyntaxNode) builder.build().children.getFirst();
+        return result;
+    }
+
+    private static void cancelFrom(final List<ForkJoinTask<ContainerResult>> tasks, final int from) {
+        for (int i = from; i < tasks.size(); i++) {
+            tasks.get(i).cancel(false);
+        }
+    }
+
+    static final class ContainerResult {
+        final String name;
+        @Nullable
+        ContainerArtisanSyntaxNode container;
+        @Nullable
+        CharSequence trailingMeta;
+        boolean closed;
+        @Nullable
+        RuntimeException failure;
+
+        private ContainerResult(final String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Builds the root and metadata containers while attaching containers that were already built in parallel
+     */
+    static final class StitchingHandler implements ArtisanEventHandler {
+        private final ContainerArtisanSyntaxNode root = ContainerArtisanSyntaxNode.create(ROOT, (ArtisanParseToken) null);
+        private final ContainerArtisanSyntaxNode meta = ContainerArtisanSyntaxNode.create(METADATA, (ArtisanParseToken) null);
+        @Nullable
+        ContainerArtisanSyntaxNode next;
+
+        @Override
+        public void onFileMeta(final MetadataResult metadata) {
+            meta.addChild(MetadataArtisanSyntaxNode.create(metadata.key(), metadata.value()));
+        }
+
+        @Override
+        public void onContainerOpen(final String name) {
+            if (next != null) {
+                root.addChild(next);
+            }
+        }
+
+        ContainerArtisanSyntaxNode build() {
+            root.addChild(meta);
+            return root;
+        }
+    }
+}
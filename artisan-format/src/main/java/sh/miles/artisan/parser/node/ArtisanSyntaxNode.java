@@ -1,18 +1,19 @@
 package sh.miles.artisan.parser.node;
 
 import org.jspecify.annotations.NullMarked;
+import sh.miles.artisan.parser.event.ArtisanEventParser;
 import sh.miles.artisan.parser.token.ArtisanParseToken;
+import sh.miles.artisan.parser.token.ArtisanParseToken.ArtisanTokenType;
+import sh.miles.artisan.parser.token.ArtisanTokenBuffer;
+import sh.miles.artisan.parser.token.ArtisanTokenizer;
 import sh.miles.artisan.visitor.ArtisanNodeReader;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.Stack;
-
-import static sh.miles.artisan.parser.node.ContainerArtisanSyntaxNode.NodeContainerType.FUNCTION_CONTENT;
-import static sh.miles.artisan.parser.node.ContainerArtisanSyntaxNode.NodeContainerType.METADATA;
-import static sh.miles.artisan.parser.node.ContainerArtisanSyntaxNode.NodeContainerType.ROOT;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Represents a "node" of data that acts when visited
@@ -36,6 +37,7 @@ public abstract class ArtisanSyntaxNode implements Iterable<ArtisanSyntaxNode> {
      * @since 1.0.0
      */
     public void addChild(ArtisanSyntaxNode child) {
+        materialize();
         this.children.add(child);
     }
 
@@ -47,6 +49,7 @@ public abstract class ArtisanSyntaxNode implements Iterable<ArtisanSyntaxNode> {
      * @since 1.0.0
      */
     public void replaceChild(ArtisanSyntaxNode original, ArtisanSyntaxNode replace) {
+        materialize();
         for (int i = 0; i < this.children.size(); i++) {
             if (this.children.get(i) == original) {
                 this.children.set(i, replace);
@@ -64,6 +67,7 @@ public abstract class ArtisanSyntaxNode implements Iterable<ArtisanSyntaxNode> {
      * @since 1.0.0
      */
     public void removeChild(ArtisanSyntaxNode child) {
+        materialize();
         this.children.remove(child);
     }
 
@@ -74,6 +78,7 @@ public abstract class ArtisanSyntaxNode implements Iterable<ArtisanSyntaxNode> {
      * @since 1.0.0
      */
     public final boolean hasChildren() {
+        materialize();
         return !this.children.isEmpty();
     }
 
@@ -85,6 +90,7 @@ public abstract class ArtisanSyntaxNode implements Iterable<ArtisanSyntaxNode> {
      * @since 1.0.0
      */
     public final boolean containsType(Class<? extends ArtisanSyntaxNode> clazz) {
+        materialize();
         for (final ArtisanSyntaxNode child : this.children) {
             if (child.getClass().isAssignableFrom(clazz)) {
                 return true;
@@ -108,8 +114,18 @@ public abstract class ArtisanSyntaxNode implements Iterable<ArtisanSyntaxNode> {
      */
     protected abstract StringBuilder asString(StringBuilder builder, int depth);
 
+    /**
+     * Builds the children of this node if they have not been built yet. Called before the children of this node are
+     * accessed, by default all children are built up front and this method does nothing
+     *
+     * @since 1.1.0
+     */
+    protected void materialize() {
+    }
+
     @Override
     public Iterator<ArtisanSyntaxNode> iterator() {
+        materialize();
         return this.children.iterator();
     }
 
@@ -121,11 +137,14 @@ public abstract class ArtisanSyntaxNode implements Iterable<ArtisanSyntaxNode> {
     @Override
     public boolean equals(final Object o) {
         if (!(o instanceof final ArtisanSyntaxNode that)) return false;
+        materialize();
+        that.materialize();
         return Objects.equals(children, that.children);
     }
 
     @Override
     public int hashCode() {
+        materialize();
         return Objects.hashCode(children);
     }
 
@@ -136,71 +155,74 @@ public abstract class ArtisanSyntaxNode implements Iterable<ArtisanSyntaxNode> {
      * @return the node tree
      */
     public static ArtisanSyntaxNode generate(List<ArtisanParseToken> tokens) {
-        final var root = ContainerArtisanSyntaxNode.create(ROOT, (ArtisanParseToken) null);
-        final var meta = ContainerArtisanSyntaxNode.create(METADATA, (ArtisanParseToken) null);
-        ContainerArtisanSyntaxNode head = root;
-        Stack<ArtisanSyntaxNode> metaCache = new Stack<>();
-        boolean hasOpenedAtAll = false;
-        boolean open = false;
-        for (final ArtisanParseToken token : tokens) {
-            switch (token.tokenType()) {
-                case META -> {
-                    if (!hasOpenedAtAll) {
-                        meta.addChild(MetadataArtisanSyntaxNode.create(token));
-                    } else {
-                        metaCache.add(MetadataArtisanSyntaxNode.create(token));
-                    }
-                }
-
-                case OPEN -> {
-                    if (open) {
-                        throw new IllegalStateException("Can not open multiple function bodies at once invalid tree structure");
-                    }
-
-                    hasOpenedAtAll = true;
-                    open = true;
-
-                    if (!metaCache.isEmpty()) {
-                        throw new IllegalStateException("can not annotate function content declarations with metadata");
-                    }
-
-                    final var temp = head;
-                    head = ContainerArtisanSyntaxNode.create(FUNCTION_CONTENT, token);
-                    root.addChild(head);
-                }
-
-                case CLOSE -> {
-                    if (!open) {
-                        throw new IllegalStateException("Can not close unopened function invalid tree structure");
-                    }
-
-                    head = root; // can only go one deep for now, can use a stack structure later
-                    open = false;
-                }
-
-                case ENTRY -> {
-                    if (!open) {
-                        throw new IllegalStateException("Entries can not be detached from an open function content body");
-                    }
-                    final var entry = LiteralArtisanSyntaxNode.create(token);
-                    while (!metaCache.isEmpty()) {
-                        entry.addChild(metaCache.pop());
-                    }
-
-                    head.addChild(entry);
-                }
+        return generate(tokens.iterator());
+    }
 
-                case COMMENT -> {
-                    // comments are always ignored
-                }
+    /**
+     * Generates an ArtisanSyntaxNode tree pulling tokens one at a time from the provided iterator
+     * <p>
+     * Tokens are consumed as the tree is built, so when given an {@link ArtisanTokenizer} no intermediate token list is
+     * ever held in memory.
+     *
+     * @param tokens the tokens to transform into a node tree
+     * @return the node tree
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode generate(Iterator<ArtisanParseToken> tokens) {
+        final ArtisanTreeBuilder builder = new ArtisanTreeBuilder();
+        ArtisanEventParser.parse(tokens, builder);
+        return builder.build();
+    }
 
-                case null, default -> {
-                    throw new IllegalStateException("Illegal tokens with null or no defined token (%s)".formatted(token.tokenType()));
-                }
-            }
+    /**
+     * Generates an ArtisanSyntaxNode tree from the provided token buffer without creating any
+     * {@link ArtisanParseToken} instances
+     *
+     * @param tokens the tokens to transform into a node tree
+     * @return the node tree
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode generate(ArtisanTokenBuffer tokens) {
+        final ArtisanTreeBuilder builder = new ArtisanTreeBuilder();
+        final ArtisanEventParser parser = new ArtisanEventParser(builder);
+        final ArtisanTokenBuffer.Cursor cursor = tokens.cursor();
+        while (cursor.next()) {
+            final ArtisanTokenType type = cursor.type();
+            if (type == ArtisanTokenType.COMMENT) continue; // comments are always ignored, no need to materialize them
+            parser.accept(type, cursor.segment());
         }
+        return builder.build();
+    }
 
-        root.addChild(meta);
-        return root;
+    /**
+     * Generates an ArtisanSyntaxNode tree from the provided content, building each function content container in
+     * parallel on the provided pool
+     * <p>
+     * The resulting tree and any validation errors thrown are identical to sequential generation
+     *
+     * @param content the entire content to transform into a node tree from its position to its limit
+     * @param pool    the pool to build containers on
+     * @return the node tree
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode generateParallel(ByteBuffer content, ForkJoinPool pool) {
+        return new ArtisanParallelTreeGenerator(content, pool).generate();
+    }
+
+    /**
+     * Generates an ArtisanSyntaxNode tree from the provided content, only indexing the name and range of every function
+     * content container. The literals of a container are built the first time its children are accessed, e.g. when
+     * it is iterated or read through {@link ArtisanNodeReader#getLiterals(String)}
+     * <p>
+     * The structure between containers is validated up front the same as sequential generation, however, any
+     * validation error inside the body of a container is thrown when that container is first accessed
+     *
+     * @param content the entire content to transform into a node tree from its position to its limit, which must not
+     *                be modified while the tree is in use
+     * @return the node tree
+     * @since 1.1.0
+     */
+    public static ArtisanSyntaxNode generateLazy(ByteBuffer content) {
+        return new ArtisanLazyTreeGenerator(content).generate();
     }
 }
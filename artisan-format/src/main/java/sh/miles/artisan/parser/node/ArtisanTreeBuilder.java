@@ -0,0 +1,63 @@
+package sh.miles.artisan.parser.node;
+
+import org.jspecify.annotations.NullMarked;
+import sh.miles.artisan.parser.event.ArtisanEventHandler;
+import sh.miles.artisan.parser.token.ArtisanParseToken;
+import sh.miles.artisan.visitor.MetadataResult;
+
+import java.util.List;
+
+import static sh.miles.artisan.parser.node.ContainerArtisanSyntaxNode.NodeContainerType.FUNCTION_CONTENT;
+import static sh.miles.artisan.parser.node.ContainerArtisanSyntaxNode.NodeContainerType.METADATA;
+import static sh.miles.artisan.parser.node.ContainerArtisanSyntaxNode.NodeContainerType.ROOT;
+
+/**
+ * An {@link ArtisanEventHandler} that assembles parse events into an {@link ArtisanSyntaxNode} tree
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+final class ArtisanTreeBuilder implements ArtisanEventHandler {
+
+    private final ContainerArtisanSyntaxNode root = ContainerArtisanSyntaxNode.create(ROOT, (ArtisanParseToken) null);
+    private final ContainerArtisanSyntaxNode meta = ContainerArtisanSyntaxNode.create(METADATA, (ArtisanParseToken) null);
+    private ContainerArtisanSyntaxNode head = root;
+
+    @Override
+    public void onFileMeta(final MetadataResult metadata) {
+        meta.addChild(MetadataArtisanSyntaxNode.create(metadata.key(), metadata.value()));
+    }
+
+    @Override
+    public void onContainerOpen(final String name) {
+        head = ContainerArtisanSyntaxNode.create(FUNCTION_CONTENT, name);
+        root.addChild(head);
+    }
+
+    @Override
+    public void onLiteral(final String literal, final List<MetadataResult> metadata) {
+        final var entry = LiteralArtisanSyntaxNode.create(literal);
+        for (int i = metadata.size() - 1; i >= 0; i--) { // metadata is attached most recent first
+            final MetadataResult result = metadata.get(i);
+            entry.addChild(MetadataArtisanSyntaxNode.create(result.key(), result.value()));
+        }
+
+        head.addChild(entry);
+    }
+
+    @Override
+    public void onContainerClose(final String name) {
+        head = root; // can only go one deep for now, can use a stack structure later
+    }
+
+    /**
+     * Finishes the tree
+     *
+     * @return the root of the tree
+     * @since 1.1.0
+     */
+    ContainerArtisanSyntaxNode build() {
+        root.addChild(meta);
+        return root;
+    }
+}
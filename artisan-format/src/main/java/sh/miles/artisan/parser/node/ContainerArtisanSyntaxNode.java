@@ -5,7 +5,9 @@ import org.jspecify.annotations.Nullable;
 import sh.miles.artisan.parser.token.ArtisanParseToken;
 import sh.miles.artisan.parser.token.ArtisanParseToken.ArtisanTokenType;
 
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * An implementation of {@link  ArtisanSyntaxNode} that represents a "Container" like node which contains other nodes to
@@ -32,12 +34,35 @@ public final class ContainerArtisanSyntaxNode extends ArtisanSyntaxNode {
      */
     @Nullable
     public final String name;
+    @Nullable
+    private volatile Supplier<List<ArtisanSyntaxNode>> body;
 
     ContainerArtisanSyntaxNode(final NodeContainerType containerType, @Nullable final String name) {
         this.containerType = containerType;
         this.name = name;
     }
 
+    /**
+     * Checks whether the children of this container are yet to be built
+     *
+     * @return true if the body of this container has not been built yet, otherwise false
+     * @since 1.1.0
+     */
+    public boolean isLazy() {
+        return this.body != null;
+    }
+
+    @Override
+    protected void materialize() {
+        if (this.body == null) return;
+        synchronized (this) {
+            final Supplier<List<ArtisanSyntaxNode>> body = this.body;
+            if (body == null) return;
+            this.children.addAll(body.get());
+            this.body = null;
+        }
+    }
+
     @Override
     protected StringBuilder asString(final StringBuilder builder, final int depth) {
         builder.append("\t".repeat(depth)).append("ContainerNode(").append(containerType.name());
@@ -96,6 +121,21 @@ public final class ContainerArtisanSyntaxNode extends ArtisanSyntaxNode {
         FUNCTION_CONTENT,
     }
 
+    /**
+     * Creates a function content container whose children are built by the provided body the first time they are
+     * accessed
+     *
+     * @param name the name of the container
+     * @param body builds the children of the container, rethrowing any validation error on every call
+     * @return the lazy container node
+     * @since 1.1.0
+     */
+    static ContainerArtisanSyntaxNode createLazy(final String name, final Supplier<List<ArtisanSyntaxNode>> body) {
+        final ContainerArtisanSyntaxNode container = new ContainerArtisanSyntaxNode(NodeContainerType.FUNCTION_CONTENT, name);
+        container.body = body;
+        return container;
+    }
+
     /**
      * Allows more generic creation of container syntax nodes. note Root containers can not be created
      *
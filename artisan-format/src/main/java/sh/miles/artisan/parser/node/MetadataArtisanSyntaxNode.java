@@ -2,8 +2,8 @@ package sh.miles.artisan.parser.node;
 
 import org.jspecify.annotations.NullMarked;
 import sh.miles.artisan.parser.token.ArtisanParseToken;
+import sh.miles.artisan.visitor.MetadataResult;
 
-import java.util.Arrays;
 import java.util.Objects;
 
 import static sh.miles.artisan.parser.token.ArtisanParseToken.ArtisanTokenType.META;
@@ -83,15 +83,7 @@ public final class MetadataArtisanSyntaxNode extends ArtisanSyntaxNode {
             throw new IllegalArgumentException("The provided token is not of the meta token type");
         }
 
-        final String meta = token.segment();
-        final String[] kvSplit = meta.split(":");
-        if (kvSplit.length != 2) {
-            throw new IllegalArgumentException("Illegal size of key value pair split. Key Value pair must be denoted by ':' and ':' can not be used inside of metadata illegal split of content %s".formatted(Arrays.toString(kvSplit)));
-        }
-
-        final String key = kvSplit[0];
-        final String value = kvSplit[1].stripLeading().stripTrailing();
-
-        return new MetadataArtisanSyntaxNode(key, value);
+        final MetadataResult result = MetadataResult.parse(token.segment());
+        return new MetadataArtisanSyntaxNode(result.key(), result.value());
     }
 }
@@ -6,12 +6,50 @@ import org.jspecify.annotations.NullMarked;
  * A Token created when parsing which highlights important parts of parsed text
  *
  * @param id        the token id, should be ordered starting at 0 and ascending
- * @param segment   the token
+ * @param content   the token content, which may be a view over the tokenized input see {@link ArtisanSegment}
  * @param tokenType the type of token
  * @since 1.0.0
  */
 @NullMarked
-public record ArtisanParseToken(int id, String segment, ArtisanTokenType tokenType) {
+public record ArtisanParseToken(int id, CharSequence content, ArtisanTokenType tokenType) {
+
+    /**
+     * Creates a token over already materialized content
+     *
+     * @param id        the token id, should be ordered starting at 0 and ascending
+     * @param segment   the token content
+     * @param tokenType the type of token
+     * @since 1.0.0
+     */
+    public ArtisanParseToken(final int id, final String segment, final ArtisanTokenType tokenType) {
+        this(id, (CharSequence) segment, tokenType);
+    }
+
+    /**
+     * Gets the token content as a string, materializing it if the content is a view over the tokenized input
+     *
+     * @return the token
+     * @since 1.0.0
+     */
+    public String segment() {
+        return this.content.toString();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof final ArtisanParseToken that)) return false;
+        return id == that.id && tokenType == that.tokenType && CharSequence.compare(content, that.content) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        // hashes content the way String does, so equal tokens hash alike whether or not their content is materialized
+        int contentHash = 0;
+        for (int i = 0; i < content.length(); i++) {
+            contentHash = 31 * contentHash + content.charAt(i);
+        }
+        return 31 * (31 * (31 + id) + contentHash) + tokenType.hashCode();
+    }
 
     /**
      * Represents types of tokens that can be tokenized
@@ -0,0 +1,80 @@
+package sh.miles.artisan.parser.token;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A {@link CharSequence} view over a region of tokenized content. No characters are copied until the segment is
+ * materialized through {@link #toString()}, after which the materialized string is reused.
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class ArtisanSegment implements CharSequence {
+
+    private final ByteBuffer source;
+    private final int offset;
+    private final int length;
+    @Nullable
+    private String materialized;
+
+    ArtisanSegment(final ByteBuffer source, final int offset, final int length) {
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        Objects.checkIndex(index, this.length);
+        return (char) (this.source.get(this.offset + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        Objects.checkFromToIndex(start, end, this.length);
+        return new ArtisanSegment(this.source, this.offset + start, end - start);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof final ArtisanSegment that)) return false;
+        if (this.length != that.length) return false;
+        for (int i = 0; i < this.length; i++) {
+            if (this.source.get(this.offset + i) != that.source.get(that.offset + i)) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < this.length; i++) {
+            hash = 31 * hash + (this.source.get(this.offset + i) & 0xFF);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        String materialized = this.materialized;
+        if (materialized == null) {
+            final byte[] bytes = new byte[this.length];
+            this.source.get(this.offset, bytes);
+            materialized = new String(bytes, StandardCharsets.ISO_8859_1);
+            this.materialized = materialized;
+        }
+
+        return materialized;
+    }
+}
@@ -0,0 +1,283 @@
+package sh.miles.artisan.parser.token;
+
+import org.jspecify.annotations.NullMarked;
+import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.parser.token.ArtisanParseToken.ArtisanTokenType;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A compact store of tokens, which keeps token types in a single {@code byte[]} and the content of every token as an
+ * offset and length into one shared {@code char[]}. Unlike a {@link List} of {@link ArtisanParseToken} no object is
+ * allocated per token.
+ * <p>
+ * Generally an ArtisanTokenBuffer should be created through {@link ArtisanFormat#tokenizeToBuffer(java.io.InputStream)}
+ *
+ * @since 1.1.0
+ */
+@NullMarked
+public final class ArtisanTokenBuffer {
+
+    private static final ArtisanTokenType[] TYPES = ArtisanTokenType.values();
+
+    private byte[] types;
+    private int[] offsets;
+    private int[] lengths;
+    private char[] chars;
+    private int size = 0;
+    private int charCount = 0;
+
+    /**
+     * Creates a new empty token buffer
+     *
+     * @since 1.1.0
+     */
+    public ArtisanTokenBuffer() {
+        this(256);
+    }
+
+    /**
+     * Creates a new empty token buffer
+     *
+     * @param expectedTokens the amount of tokens to initially make room for
+     * @since 1.1.0
+     */
+    public ArtisanTokenBuffer(int expectedTokens) {
+        final int capacity = Math.max(expectedTokens, 16);
+        this.types = new byte[capacity];
+        this.offsets = new int[capacity];
+        this.lengths = new int[capacity];
+        this.chars = new char[capacity * 32];
+    }
+
+    /**
+     * Gets the amount of tokens in this buffer
+     *
+     * @return the amount of tokens
+     * @since 1.1.0
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the type of the token at the provided index
+     *
+     * @param index the index of the token
+     * @return the token type
+     * @since 1.1.0
+     */
+    public ArtisanTokenType type(int index) {
+        Objects.checkIndex(index, this.size);
+        return TYPES[this.types[index]];
+    }
+
+    /**
+     * Gets the content of the token at the provided index as a view over this buffer
+     *
+     * @param index the index of the token
+     * @return the content view
+     * @since 1.1.0
+     */
+    public CharSequence content(int index) {
+        Objects.checkIndex(index, this.size);
+        return CharBuffer.wrap(this.chars, this.offsets[index], this.lengths[index]);
+    }
+
+    /**
+     * Gets the content of the token at the provided index as a string
+     *
+     * @param index the index of the token
+     * @return the content
+     * @since 1.1.0
+     */
+    public String segment(int index) {
+        Objects.checkIndex(index, this.size);
+        return new String(this.chars, this.offsets[index], this.lengths[index]);
+    }
+
+    /**
+     * Adds a token to the end of this buffer
+     *
+     * @param token the token to add
+     * @since 1.1.0
+     */
+    public void add(ArtisanParseToken token) {
+        final CharSequence content = token.content();
+        final int length = content.length();
+        final int offset = reserve(token.tokenType(), length);
+        for (int i = 0; i < length; i++) {
+            this.chars[offset + i] = content.charAt(i);
+        }
+    }
+
+    /**
+     * Creates a cursor positioned before the first token
+     *
+     * @return the cursor
+     * @since 1.1.0
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Adapts this buffer to a list of tokens for existing callers. Tokens are created as they are requested and the id
+     * of every token is its index within this buffer
+     *
+     * @return an unmodifiable list view of this buffer
+     * @since 1.1.0
+     */
+    public List<ArtisanParseToken> asTokens() {
+        return new TokenList();
+    }
+
+    void append(final ArtisanTokenType type, final byte[] source, final int from, final int to) {
+        int offset = reserve(type, to - from);
+        final int start = offset;
+        for (int i = from; i < to; i++) {
+            final byte current = source[i];
+            if (current == '\r') continue;
+            this.chars[offset++] = (char) (current & 0xFF);
+        }
+        trim(start, offset);
+    }
+
+    void append(final ArtisanTokenType type, final ByteBuffer source, final int from, final int to) {
+        int offset = reserve(type, to - from);
+        final int start = offset;
+        for (int i = from; i < to; i++) {
+            final byte current = source.get(i);
+            if (current == '\r') continue;
+            this.chars[offset++] = (char) (current & 0xFF);
+        }
+        trim(start, offset);
+    }
+
+    private int reserve(final ArtisanTokenType type, final int length) {
+        if (this.size == this.types.length) {
+            final int capacity = this.types.length * 2;
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.offsets = Arrays.copyOf(this.offsets, capacity);
+            this.lengths = Arrays.copyOf(this.lengths, capacity);
+        }
+
+        if (this.charCount + length > this.chars.length) {
+            this.chars = Arrays.copyOf(this.chars, Math.max(this.chars.length * 2, this.charCount + length));
+        }
+
+        final int offset = this.charCount;
+        this.types[this.size] = (byte) type.ordinal();
+        this.offsets[this.size] = offset;
+        this.lengths[this.size] = length;
+        this.size++;
+        this.charCount += length;
+        return offset;
+    }
+
+    private void trim(final int start, final int end) {
+        final int length = end - start;
+        this.lengths[this.size - 1] = length;
+        this.charCount = end;
+    }
+
+    /**
+     * A forward only cursor over the tokens of an {@link ArtisanTokenBuffer}
+     *
+     * @since 1.1.0
+     */
+    public final class Cursor {
+
+        private int index = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves this cursor to the next token
+         *
+         * @return true if the cursor moved to a token, otherwise false if there are no tokens left
+         * @since 1.1.0
+         */
+        public boolean next() {
+            if (this.index + 1 >= size) {
+                this.index = size;
+                return false;
+            }
+
+            this.index++;
+            return true;
+        }
+
+        /**
+         * Gets the index of the current token, which is also its id
+         *
+         * @return the index
+         * @since 1.1.0
+         */
+        public int index() {
+            return this.index;
+        }
+
+        /**
+         * Gets the type of the current token
+         *
+         * @return the token type
+         * @throws NoSuchElementException thrown if the cursor is not on a token
+         * @since 1.1.0
+         */
+        public ArtisanTokenType type() throws NoSuchElementException {
+            checkPosition();
+            return TYPES[types[this.index]];
+        }
+
+        /**
+         * Gets the content of the current token as a view over the buffer
+         *
+         * @return the content view
+         * @throws NoSuchElementException thrown if the cursor is not on a token
+         * @since 1.1.0
+         */
+        public CharSequence content() throws NoSuchElementException {
+            checkPosition();
+            return CharBuffer.wrap(chars, offsets[this.index], lengths[this.index]);
+        }
+
+        /**
+         * Gets the content of the current token as a string
+         *
+         * @return the content
+         * @throws NoSuchElementException thrown if the cursor is not on a token
+         * @since 1.1.0
+         */
+        public String segment() throws NoSuchElementException {
+            checkPosition();
+            return new String(chars, offsets[this.index], lengths[this.index]);
+        }
+
+        private void checkPosition() {
+            if (this.index < 0 || this.index >= size) {
+                throw new NoSuchElementException("The cursor is not positioned on a token");
+            }
+        }
+    }
+
+    private final class TokenList extends AbstractList<ArtisanParseToken> implements RandomAccess {
+        @Override
+        public ArtisanParseToken get(final int index) {
+            return new ArtisanParseToken(index, segment(index), type(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -34,4 +34,9 @@ public final class ArtisanTokenConstants {
      * The New Line char
      */
     static final int NEW_LINE = '\n';
+
+    /**
+     * The Carriage Return char
+     */
+    static final int CARRIAGE_RETURN = '\r';
 }
@@ -1,12 +1,15 @@
 package sh.miles.artisan.parser.token;
 
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
 import sh.miles.artisan.ArtisanFormat;
 import sh.miles.artisan.parser.token.ArtisanParseToken.ArtisanTokenType;
-import sh.miles.artisan.util.ArtisanUtils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -14,13 +17,29 @@ import static sh.miles.artisan.parser.token.ArtisanTokenConstants.*;
 
 /**
  * A Tokenizer class through Artisan, which turns a stream into a set of tokens
+ * <p>
+ * The stream is read in bulk into a reusable buffer and scanned a whole line at a time, each token segment is copied
+ * out of the buffer exactly once. When the entire content is provided up front as a {@link ByteBuffer} no copies are
+ * made at all and token content is an {@link ArtisanSegment} view over that buffer.
  *
  * @since 1.0.0
  */
 @NullMarked
 public final class ArtisanTokenizer implements Iterator<ArtisanParseToken> {
 
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    @Nullable
     private final InputStream stream;
+    @Nullable
+    private final ByteBuffer content;
+    private byte[] buffer;
+    private int position = 0;
+    private int limit = 0;
+    private boolean exhausted = false;
+    private boolean carriageReturn = false;
+    private int segmentFrom = 0;
+    private int segmentTo = 0;
     private int id = 0;
     private boolean hasOpenedTag = false;
 
@@ -34,12 +53,32 @@ public final class ArtisanTokenizer implements Iterator<ArtisanParseToken> {
      */
     public ArtisanTokenizer(InputStream stream) {
         this.stream = stream;
+        this.content = null;
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+    }
+
+    /**
+     * Creates a new ArtisanTokenizer over the entire content to tokenize, e.g. a file mapped into memory
+     * <p>
+     * Generally calls to the ArtisanTokenizer should be delegated to {@link ArtisanFormat#tokenize(java.nio.file.Path)}
+     *
+     * @param content the content to tokenize from its position to its limit, which must not be modified while tokens
+     *                created by this tokenizer are still in use
+     * @since 1.1.0
+     */
+    public ArtisanTokenizer(ByteBuffer content) {
+        this.stream = null;
+        this.content = content;
+        this.buffer = new byte[0];
+        this.position = content.position();
+        this.limit = content.limit();
+        this.exhausted = true;
     }
 
     @Override
     public boolean hasNext() {
-        try { // this is heavy should check if this can be optimized
-            return stream.available() > 0;
+        try {
+            return skipBlankLines();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -47,54 +86,207 @@ public final class ArtisanTokenizer implements Iterator<ArtisanParseToken> {
 
     @Override
     public ArtisanParseToken next() throws NoSuchElementException {
+        final ArtisanTokenType type = advance();
+        if (type == null) throw new NoSuchElementException("No next token to read");
+        return new ArtisanParseToken(id++, segment(this.segmentFrom, this.segmentTo), type);
+    }
+
+    /**
+     * Tokenizes all remaining content straight into the provided buffer without creating any
+     * {@link ArtisanParseToken} instances
+     *
+     * @param tokens the buffer to append tokens to
+     * @return the provided buffer
+     * @throws IllegalStateException thrown if an invalid token is found
+     * @since 1.1.0
+     */
+    public ArtisanTokenBuffer drainTo(ArtisanTokenBuffer tokens) throws IllegalStateException {
+        ArtisanTokenType type;
+        while ((type = advance()) != null) {
+            if (this.content != null) {
+                tokens.append(type, this.content, this.segmentFrom, this.segmentTo);
+            } else {
+                tokens.append(type, this.buffer, this.segmentFrom, this.segmentTo);
+            }
+            id++;
+        }
+
+        return tokens;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Remove is not valid for an ArtisanTokenizer iterator");
+    }
+
+    /**
+     * Moves past the next line classifying it and marking its segment
+     *
+     * @return the type of the next token, or null if there are no tokens left
+     * @throws IllegalStateException thrown if the line does not start a valid token
+     */
+    @Nullable
+    private ArtisanTokenType advance() throws IllegalStateException {
         try {
-            if (stream.available() <= 0) throw new NoSuchElementException("No next token to read");
-            int next;
+            if (!skipBlankLines()) return null;
 
-            while ((next = stream.read()) != -1) {
-                if (next == NEW_LINE || next == 13) continue;
+            final int end = scanLine();
+            final int start = this.position;
+            final int lead = byteAt(start) & 0xFF;
+            this.position = end < this.limit ? end + 1 : end;
+            this.segmentTo = end;
 
-                switch (next) {
-                    case META -> {
-                        final StringBuilder result = new StringBuilder();
-                        ArtisanUtils.collectUntilCode(stream, NEW_LINE, result, ArtisanUtils::appendCharFromInteger);
-                        return new ArtisanParseToken(id++, result.toString(), ArtisanTokenType.META);
-                    }
+            switch (lead) {
+                case META -> {
+                    this.segmentFrom = start + 1;
+                    return ArtisanTokenType.META;
+                }
 
-                    case COMMENT -> {
-                        final StringBuilder result = new StringBuilder();
-                        ArtisanUtils.collectUntilCode(stream, NEW_LINE, result, ArtisanUtils::appendCharFromInteger);
-                        return new ArtisanParseToken(id++, result.toString(), ArtisanTokenType.COMMENT);
-                    }
+                case COMMENT -> {
+                    this.segmentFrom = start + 1;
+                    return ArtisanTokenType.COMMENT;
+                }
 
-                    case OPEN_CLOSE -> {
-                        final StringBuilder result = new StringBuilder();
-                        ArtisanUtils.collectUntilCode(stream, NEW_LINE, result, ArtisanUtils::appendCharFromInteger);
-                        this.hasOpenedTag = !hasOpenedTag;
-                        return new ArtisanParseToken(id++, result.toString(), this.hasOpenedTag ? ArtisanTokenType.OPEN : ArtisanTokenType.CLOSE);
-                    }
+                case OPEN_CLOSE -> {
+                    this.segmentFrom = start + 1;
+                    this.hasOpenedTag = !hasOpenedTag;
+                    return this.hasOpenedTag ? ArtisanTokenType.OPEN : ArtisanTokenType.CLOSE;
+                }
 
-                    default -> {
-                        if (!hasOpenedTag) {
-                            final StringBuilder result = new StringBuilder();
-                            ArtisanUtils.collectUntilCode(stream, NEW_LINE, result, ArtisanUtils::appendCharFromInteger);
-                            throw new IllegalStateException("Unknown token start %s, for line '%s' unable to continue parsing because of invalid token".formatted((char) next, result.insert(0, (char) next)));
-                        }
-                        final StringBuilder result = new StringBuilder().append((char) next);
-                        ArtisanUtils.collectUntilCode(stream, NEW_LINE, result, ArtisanUtils::appendCharFromInteger);
-                        return new ArtisanParseToken(id++, result.toString(), ArtisanTokenType.ENTRY);
+                default -> {
+                    if (!hasOpenedTag) {
+                        throw new IllegalStateException("Unknown token start %s, for line '%s' unable to continue parsing because of invalid token".formatted((char) lead, segment(start, end)));
                     }
+                    this.segmentFrom = start;
+                    return ArtisanTokenType.ENTRY;
                 }
             }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+    }
+
+    /**
+     * Moves the position past any empty lines
+     *
+     * @return true if there is content left to tokenize, otherwise false
+     * @throws IOException thrown if the underlying stream fails to read
+     */
+    private boolean skipBlankLines() throws IOException {
+        if (this.content != null) {
+            final ByteBuffer content = this.content;
+            for (; this.position < this.limit; this.position++) {
+                final byte current = content.get(this.position);
+                if (current != NEW_LINE && current != CARRIAGE_RETURN) {
+                    return true;
+                }
+            }
+            return false;
+        }
 
-        throw new NoSuchElementException("There is no valid next element");
+        while (true) {
+            while (this.position < this.limit) {
+                final byte current = this.buffer[this.position];
+                if (current != NEW_LINE && current != CARRIAGE_RETURN) {
+                    return true;
+                }
+                this.position++;
+            }
+
+            if (!fill()) {
+                return false;
+            }
+        }
     }
 
-    @Override
-    public void remove() {
-        throw new UnsupportedOperationException("Remove is not valid for an ArtisanTokenizer iterator");
+    /**
+     * Makes sure the entire line starting at the current position is within the buffer
+     *
+     * @return the index of the line terminator, or the limit if the stream ended before one was found
+     * @throws IOException thrown if the underlying stream fails to read
+     */
+    private int scanLine() throws IOException {
+        this.carriageReturn = false;
+        if (this.content != null) {
+            final ByteBuffer content = this.content;
+            for (int cursor = this.position; cursor < this.limit; cursor++) {
+                final byte current = content.get(cursor);
+                if (current == NEW_LINE) return cursor;
+                if (current == CARRIAGE_RETURN) this.carriageReturn = true;
+            }
+            return this.limit;
+        }
+
+        int scanned = 0;
+        while (true) {
+            final byte[] buffer = this.buffer;
+            final int limit = this.limit;
+            int cursor = this.position + scanned;
+            for (; cursor < limit; cursor++) {
+                final byte current = buffer[cursor];
+                if (current == NEW_LINE) return cursor;
+                if (current == CARRIAGE_RETURN) this.carriageReturn = true;
+            }
+
+            scanned = cursor - this.position;
+            if (!fill()) {
+                return this.limit;
+            }
+        }
+    }
+
+    /**
+     * Compacts the unread content to the start of the buffer and reads more content from the stream, growing the
+     * buffer if a single line does not fit
+     *
+     * @return true if more content was read, otherwise false
+     * @throws IOException thrown if the underlying stream fails to read
+     */
+    private boolean fill() throws IOException {
+        if (this.exhausted || this.stream == null) return false;
+
+        if (this.position > 0) {
+            System.arraycopy(this.buffer, this.position, this.buffer, 0, this.limit - this.position);
+            this.limit -= this.position;
+            this.position = 0;
+        }
+
+        if (this.limit == this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+        }
+
+        int read;
+        do {
+            read = this.stream.read(this.buffer, this.limit, this.buffer.length - this.limit);
+        } while (read == 0);
+
+        if (read == -1) {
+            this.exhausted = true;
+            return false;
+        }
+
+        this.limit += read;
+        return true;
+    }
+
+    private byte byteAt(final int index) {
+        return this.content != null ? this.content.get(index) : this.buffer[index];
+    }
+
+    private CharSequence segment(final int from, final int to) {
+        if (!this.carriageReturn) {
+            if (this.content != null) {
+                return new ArtisanSegment(this.content, from, to - from);
+            }
+            return new String(this.buffer, from, to - from, StandardCharsets.ISO_8859_1);
+        }
+
+        final StringBuilder builder = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) {
+            final byte current = byteAt(i);
+            if (current == CARRIAGE_RETURN) continue; // windows line endings
+            builder.append((char) (current & 0xFF));
+        }
+        return builder.toString();
     }
 }
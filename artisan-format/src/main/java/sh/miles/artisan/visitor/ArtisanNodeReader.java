@@ -9,6 +9,7 @@ import sh.miles.artisan.parser.node.LiteralArtisanSyntaxNode;
 import sh.miles.artisan.parser.node.MetadataArtisanSyntaxNode;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -20,6 +21,10 @@ import java.util.Stack;
 /**
  * Represents a reader class that can read artisan nodes and do visitation via an implemented
  * {@link ArtisanNodeVisitor}
+ * <p>
+ * A reader created through {@link #indexed(ArtisanSyntaxNode)} is frozen, containers and their literal results are
+ * computed once when the reader is created. Such a reader is safe to share across threads as long as the tree is no
+ * longer modified.
  *
  * @since 1.0.0
  */
@@ -27,6 +32,8 @@ import java.util.Stack;
 public final class ArtisanNodeReader {
 
     private final ContainerArtisanSyntaxNode root;
+    @Nullable
+    private final ReaderIndex index;
 
     /**
      * Creates a new artisan node reader
@@ -40,6 +47,22 @@ public final class ArtisanNodeReader {
         }
 
         this.root = (ContainerArtisanSyntaxNode) root;
+        this.index = null;
+    }
+
+    private ArtisanNodeReader(final ContainerArtisanSyntaxNode root, final ReaderIndex index) {
+        this.root = root;
+        this.index = index;
+    }
+
+    /**
+     * Checks whether this reader is a frozen reader created by {@link #indexed(ArtisanSyntaxNode)}
+     *
+     * @return true if this reader is indexed, otherwise false
+     * @since 1.1.0
+     */
+    public boolean isIndexed() {
+        return this.index != null;
     }
 
     /**
@@ -48,10 +71,11 @@ public final class ArtisanNodeReader {
      * Note this method does not return "root" or "metadata" containers. These are meant for internal or more advanced
      * use. If you need metadata from the metadata container use {@link #getMetaValue(String, boolean)}
      *
-     * @return a list of container names
+     * @return a list of container names, which is unmodifiable if this reader is indexed
      * @since 1.0.0
      */
     public List<String> getContainers() {
+        if (this.index != null) return this.index.containers;
         final List<String> collector = new ArrayList<>();
         for (final ArtisanSyntaxNode node : root) {
             if (node instanceof ContainerArtisanSyntaxNode container) {
@@ -66,25 +90,14 @@ public final class ArtisanNodeReader {
      * Gets all literals inside the provided container
      *
      * @param containerName the container to retrieve the literals from
-     * @return the literals
+     * @return the literals, which are unmodifiable if this reader is indexed
      * @since 1.0.0
      */
     public List<LiteralResult> getLiterals(String containerName) {
+        if (this.index != null) return this.index.literals.getOrDefault(containerName, List.of());
         final ContainerArtisanSyntaxNode container = getContainer(NodeContainerType.FUNCTION_CONTENT, containerName);
         if (container == null) return new ArrayList<>();
-        final List<LiteralResult> literals = new ArrayList<>();
-        for (final ArtisanSyntaxNode child : container) {
-            if (child instanceof LiteralArtisanSyntaxNode literal) {
-                final Map<String, String> meta = new HashMap<>();
-                for (final ArtisanSyntaxNode metaNode : literal) { // meta node assumption is safe because of AST requirements
-                    final var metaMeta = (MetadataArtisanSyntaxNode) metaNode;
-                    meta.put(metaMeta.key, metaMeta.value);
-                }
-                literals.add(new LiteralResult(literal.literal, meta));
-            }
-        }
-
-        return literals;
+        return collectLiterals(container, false);
     }
 
     /**
@@ -94,7 +107,7 @@ public final class ArtisanNodeReader {
      * replaced with the results of {@link #getLiterals(String)}, which also provides metadata bundled with the
      * {@link LiteralResult}.
      *
-     * @param deep whether or not to scan the entire tree. Note this is far more expensive
+     * @param deep whether or not to scan the entire tree. Note this is far more expensive unless this reader is indexed
      * @return all non repeated meta data values
      * @since 1.0.0
      */
@@ -108,6 +121,10 @@ public final class ArtisanNodeReader {
         }
 
         if (!deep) return collector;
+        if (this.index != null) {
+            collector.addAll(this.index.metadataIndex.values);
+            return collector;
+        }
 
         Stack<ArtisanSyntaxNode> toVisit = new Stack<>();
         toVisit.add(this.root);
@@ -135,7 +152,8 @@ public final class ArtisanNodeReader {
      * {@link LiteralResult}.
      *
      * @param metaKey the meta key to retrieve
-     * @param deep    whether or not to scan the entire tree. Note this is far more expensive
+     * @param deep    whether or not to scan the entire tree. Note this is far more expensive unless this reader is
+     *                indexed
      * @return the value of that meta key
      * @since 1.0.0
      */
@@ -150,6 +168,7 @@ public final class ArtisanNodeReader {
         }
 
         if (!deep) return null;
+        if (this.index != null) return this.index.metadataIndex.deep.get(metaKey);
 
         Stack<ArtisanSyntaxNode> toVisit = new Stack<>();
         toVisit.add(this.root);
@@ -171,6 +190,34 @@ public final class ArtisanNodeReader {
         return null;
     }
 
+    /**
+     * Gets every literal that carries the provided metadata key, in the order the literals appear in the tree
+     * <p>
+     * Indexed readers answer this query with a single hash lookup into the metadata indexed when the reader was
+     * created, all other readers scan the current tree on every call
+     *
+     * @param metaKey the meta key to look for
+     * @return an unmodifiable list of literals carrying the key
+     * @since 1.1.0
+     */
+    public List<LiteralArtisanSyntaxNode> getLiteralsWithMetadata(String metaKey) {
+        return Collections.unmodifiableList(metadataIndex().owners.getOrDefault(metaKey, List.of()));
+    }
+
+    /**
+     * Gets every literal that carries the provided metadata key with the provided value, in the order the literals
+     * appear in the tree
+     *
+     * @param metaKey   the meta key to look for
+     * @param metaValue the value the meta key must have
+     * @return an unmodifiable list of literals carrying the key and value
+     * @see #getLiteralsWithMetadata(String)
+     * @since 1.1.0
+     */
+    public List<LiteralArtisanSyntaxNode> getLiteralsWithMetadata(String metaKey, String metaValue) {
+        return Collections.unmodifiableList(metadataIndex().ownersByValue.getOrDefault(new MetadataResult(metaKey, metaValue), List.of()));
+    }
+
     /**
      * uses the visitor to visit all nodes
      *
@@ -187,6 +234,11 @@ public final class ArtisanNodeReader {
 
     @Nullable
     private ContainerArtisanSyntaxNode getContainer(NodeContainerType type, @Nullable String name) {
+        if (this.index != null) {
+            if (type == NodeContainerType.METADATA && name == null) return this.index.metadata;
+            if (type == NodeContainerType.FUNCTION_CONTENT) return this.index.functions.get(name);
+        }
+
         for (final ArtisanSyntaxNode node : this.root) {
             if (node instanceof ContainerArtisanSyntaxNode container && container.containerType == type && Objects.equals(container.name, name)) {
                 return container;
@@ -216,4 +268,100 @@ public final class ArtisanNodeReader {
             default -> throw new IllegalStateException("Unexpected Node Value: " + node.getClass().getName());
         }
     }
+
+    private MetadataIndex metadataIndex() {
+        if (this.index != null) return this.index.metadataIndex;
+        final MetadataIndex metadataIndex = new MetadataIndex();
+        metadataIndex.index(this.root, this.root, getContainer(NodeContainerType.METADATA, null));
+        return metadataIndex;
+    }
+
+    private static List<LiteralResult> collectLiterals(final ContainerArtisanSyntaxNode container, final boolean frozen) {
+        final List<LiteralResult> literals = new ArrayList<>();
+        for (final ArtisanSyntaxNode child : container) {
+            if (child instanceof LiteralArtisanSyntaxNode literal) {
+                final Map<String, String> meta = new HashMap<>();
+                for (final ArtisanSyntaxNode metaNode : literal) { // meta node assumption is safe because of AST requirements
+                    final var metaMeta = (MetadataArtisanSyntaxNode) metaNode;
+                    meta.put(metaMeta.key, metaMeta.value);
+                }
+                literals.add(new LiteralResult(literal.literal, frozen ? Collections.unmodifiableMap(meta) : meta));
+            }
+        }
+
+        return literals;
+    }
+
+    /**
+     * Creates a frozen reader which indexes containers by name and computes the literals of every container once.
+     * Lookups through {@link #getLiterals(String)} are a single hash lookup and return the same unmodifiable list on
+     * every call. All metadata in the tree is indexed as well, so deep metadata queries are a single hash lookup.
+     * <p>
+     * The tree must not be modified after the reader is created, changes will not be reflected by the index
+     *
+     * @param root the root to read from
+     * @return the indexed reader
+     * @throws IllegalArgumentException thrown if the reader is not provided a container
+     * @since 1.1.0
+     */
+    public static ArtisanNodeReader indexed(ArtisanSyntaxNode root) throws IllegalArgumentException {
+        final ArtisanNodeReader reader = new ArtisanNodeReader(root);
+        final ContainerArtisanSyntaxNode container = reader.root;
+        final Map<String, ContainerArtisanSyntaxNode> functions = new HashMap<>();
+        final Map<String, List<LiteralResult>> literals = new HashMap<>();
+        ContainerArtisanSyntaxNode metadata = null;
+        for (final ArtisanSyntaxNode node : container) {
+            if (!(node instanceof ContainerArtisanSyntaxNode child)) continue;
+            if (child.containerType == NodeContainerType.METADATA && child.name == null && metadata == null) {
+                metadata = child;
+            } else if (child.containerType == NodeContainerType.FUNCTION_CONTENT && child.name != null && !functions.containsKey(child.name)) {
+                functions.put(child.name, child);
+                literals.put(child.name, Collections.unmodifiableList(collectLiterals(child, true)));
+            }
+        }
+
+        final List<String> containers = Collections.unmodifiableList(reader.getContainers());
+        final MetadataIndex metadataIndex = new MetadataIndex();
+        metadataIndex.index(container, container, metadata);
+        return new ArtisanNodeReader(container, new ReaderIndex(containers, functions, literals, metadata, metadataIndex));
+    }
+
+    /**
+     * Indexes every metadata node outside of the metadata container. Deep queries historically scanned the tree
+     * depth first from the last child, so the value kept for a key is the last one found walking the tree in order
+     */
+    private static final class MetadataIndex {
+        private final Map<String, String> deep = new HashMap<>();
+        private final Set<MetadataResult> values = new HashSet<>();
+        private final Map<String, List<LiteralArtisanSyntaxNode>> owners = new HashMap<>();
+        private final Map<MetadataResult, List<LiteralArtisanSyntaxNode>> ownersByValue = new HashMap<>();
+
+        private void index(final ArtisanSyntaxNode parent, final ArtisanSyntaxNode node, @Nullable final ArtisanSyntaxNode skip) {
+            if (node == skip) return;
+            if (node instanceof MetadataArtisanSyntaxNode meta) {
+                final MetadataResult result = new MetadataResult(meta.key, meta.value);
+                this.deep.put(meta.key, meta.value);
+                this.values.add(result);
+                if (parent instanceof LiteralArtisanSyntaxNode literal) {
+                    addOwner(this.owners.computeIfAbsent(meta.key, (k) -> new ArrayList<>()), literal);
+                    addOwner(this.ownersByValue.computeIfAbsent(result, (k) -> new ArrayList<>()), literal);
+                }
+            }
+
+            for (final ArtisanSyntaxNode child : node) {
+                index(node, child, skip);
+            }
+        }
+
+        private static void addOwner(final List<LiteralArtisanSyntaxNode> owners, final LiteralArtisanSyntaxNode literal) {
+            if (owners.isEmpty() || owners.getLast() != literal) {
+                owners.add(literal);
+            }
+        }
+    }
+
+    private record ReaderIndex(List<String> containers, Map<String, ContainerArtisanSyntaxNode> functions,
+                               Map<String, List<LiteralResult>> literals, @Nullable ContainerArtisanSyntaxNode metadata,
+                               MetadataIndex metadataIndex) {
+    }
 }
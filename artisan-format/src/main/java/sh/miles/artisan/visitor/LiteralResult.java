@@ -68,4 +68,16 @@ public final class LiteralResult {
                 ", metadata=" + metadata +
                 '}';
     }
+
+    /**
+     * Creates a {@link LiteralResult}
+     *
+     * @param literal  the literal
+     * @param metadata the metadata attached to the literal
+     * @return the literal result
+     * @since 1.1.0
+     */
+    public static LiteralResult create(final String literal, final Map<String, String> metadata) {
+        return new LiteralResult(literal, metadata);
+    }
 }
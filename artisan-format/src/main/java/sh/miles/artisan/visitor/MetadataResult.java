@@ -1,14 +1,35 @@
 package sh.miles.artisan.visitor;
 
+import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import sh.miles.artisan.parser.node.ArtisanSyntaxNode;
 import sh.miles.artisan.parser.node.ContainerArtisanSyntaxNode;
 
+import java.util.Arrays;
+
 /**
  * Similar to a map entry Metadata results contain a key value pair of explicitly string values
  *
  * @param key   the metadata key
  * @param value the metadata value
  */
+@NullMarked
 public record MetadataResult(String key, String value) {
+
+    /**
+     * Parses the content of a metadata declaration, without the leading '@', into a key value pair
+     *
+     * @param meta the metadata content e.g. {@code Version: 1.0.0}
+     * @return the parsed metadata
+     * @throws IllegalArgumentException thrown if the content is not a single key value pair separated by ':'
+     * @since 1.1.0
+     */
+    public static MetadataResult parse(final String meta) throws IllegalArgumentException {
+        final String[] kvSplit = meta.split(":");
+        if (kvSplit.length != 2) {
+            throw new IllegalArgumentException("Illegal size of key value pair split. Key Value pair must be denoted by ':' and ':' can not be used inside of metadata illegal split of content %s".formatted(Arrays.toString(kvSplit)));
+        }
+
+        return new MetadataResult(kvSplit[0], kvSplit[1].stripLeading().stripTrailing());
+    }
 }
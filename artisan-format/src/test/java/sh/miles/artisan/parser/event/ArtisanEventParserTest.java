@@ -0,0 +1,56 @@
+package sh.miles.artisan.parser.event;
+
+import org.junit.jupiter.api.Test;
+import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.util.TestUtil;
+import sh.miles.artisan.visitor.MetadataResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanEventParserTest {
+
+    @Test
+    public void testParseEvents() {
+        final List<String> events = new ArrayList<>();
+        ArtisanFormat.parse(TestUtil.readResource("parser/token/success-test.ajex"), new ArtisanEventHandler() {
+            @Override
+            public void onFileMeta(final MetadataResult metadata) {
+                events.add("meta " + metadata.key() + "=" + metadata.value());
+            }
+
+            @Override
+            public void onContainerOpen(final String name) {
+                events.add("open " + name);
+            }
+
+            @Override
+            public void onLiteral(final String literal, final List<MetadataResult> metadata) {
+                events.add("literal " + literal + " " + metadata);
+            }
+
+            @Override
+            public void onContainerClose(final String name) {
+                events.add("close " + name);
+            }
+        });
+
+        assertEquals(List.of(
+                "meta Version=1.0.0",
+                "meta LastUpdated=2025-01-18",
+                "meta Author=Y2Kwastaken",
+                "meta Project=Artisan Java Extension Test",
+                "open AT",
+                "literal public sh/miles/test/class/path/MyCustomClass getCustomMethod(Ljava/lang/String;)V [MetadataResult[key=Inheritable, value=All]]",
+                "close AT"
+        ), events);
+    }
+
+    @Test
+    public void testParseFails() {
+        assertThrows(IllegalArgumentException.class, () -> ArtisanFormat.parse(TestUtil.readResource("parser/node/fail-ast-test.ajex"), new ArtisanEventHandler() {
+        }));
+    }
+}
@@ -5,8 +5,11 @@ import sh.miles.artisan.parser.token.ArtisanParseToken;
 import sh.miles.artisan.parser.token.ArtisanTokenizer;
 import sh.miles.artisan.util.TestUtil;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,6 +28,80 @@ public class ArtisanSyntaxNodeTest {
         assertThrows(IllegalArgumentException.class, () -> ArtisanSyntaxNode.generate(tokens));
     }
 
+    @Test
+    public void testGenerateStreamingMatchesList() {
+        final var expected = ArtisanSyntaxNode.generate(tokenize("parser/token/success-test.ajex"));
+        final var streamed = ArtisanSyntaxNode.generate(new ArtisanTokenizer(TestUtil.readResource("parser/token/success-test.ajex")));
+        assertEquals(expected, streamed);
+        assertThrows(IllegalArgumentException.class, () -> ArtisanSyntaxNode.generate(new ArtisanTokenizer(TestUtil.readResource("parser/node/fail-ast-test.ajex"))));
+    }
+
+    @Test
+    public void testGenerateParallelMatchesSequential() {
+        final StringBuilder content = new StringBuilder("# header\n@Version: 1.0.0\n@Author: Y2Kwastaken\n");
+        for (int container = 0; container < 32; container++) {
+            content.append("\n# container ").append(container).append("\n~C").append(container).append("\n");
+            for (int entry = 0; entry < 200; entry++) {
+                if (entry % 7 == 0) content.append("@since: ").append(entry).append("\n@side: client\n");
+                content.append("public sh/miles/Example").append(container).append(" field").append(entry).append("\r\n");
+            }
+            content.append("~C").append(container).append("\n");
+        }
+
+        final ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals(ArtisanSyntaxNode.generate(new ArtisanTokenizer(buffer)), ArtisanSyntaxNode.generateParallel(buffer, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    public void testGenerateParallelFailsLikeSequential() {
+        final List<String> failures = List.of(
+                "~A\nentry\n~A\n@Bad: Meta: Data\n~B\nentry\n~B\n",
+                "~A\nentry\n@Trailing: Meta\n~A\n~B\n@Bad: Meta: Data\nentry\n~B\n",
+                "~A\nentry\n~A\n@Top: Level\n~B\nentry\n~B\n",
+                "~A\nentry\n~A\nnot a token\n~B\nentry\n~B\n",
+                "~A\n@Bad: Meta: Data\nentry\n~A\n~B\n@Also: Bad: Meta\nentry\n~B\n"
+        );
+
+        for (final String failure : failures) {
+            final ByteBuffer buffer = ByteBuffer.wrap(failure.getBytes(StandardCharsets.ISO_8859_1));
+            final RuntimeException expected = assertThrows(RuntimeException.class, () -> ArtisanSyntaxNode.generate(new ArtisanTokenizer(buffer)));
+            final RuntimeException actual = assertThrows(RuntimeException.class, () -> ArtisanSyntaxNode.generateParallel(buffer, ForkJoinPool.commonPool()));
+            assertEquals(expected.getClass(), actual.getClass());
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+    }
+
+    @Test
+    public void testGenerateLazyMatchesSequential() {
+        final String content = "@Version: 1.0.0\n~AT\n@since: 1\npublic a/A one\r\n# comment\npublic a/A two\n~AT\n\n~Other\nb/B three\n~Other\n";
+        final ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.ISO_8859_1));
+        final ArtisanSyntaxNode lazy = ArtisanSyntaxNode.generateLazy(buffer);
+        for (final ArtisanSyntaxNode child : lazy) {
+            if (child instanceof ContainerArtisanSyntaxNode container && container.containerType == ContainerArtisanSyntaxNode.NodeContainerType.FUNCTION_CONTENT) {
+                assertTrue(container.isLazy());
+            }
+        }
+
+        assertEquals(ArtisanSyntaxNode.generate(new ArtisanTokenizer(buffer)), lazy);
+        for (final ArtisanSyntaxNode child : lazy) {
+            assertFalse(((ContainerArtisanSyntaxNode) child).isLazy());
+        }
+    }
+
+    @Test
+    public void testGenerateLazyDefersBodyFailures() {
+        final ByteBuffer trailing = ByteBuffer.wrap("~A\nentry\n@Trailing: Meta\n# comment\n~A\n~B\nentry\n~B\n".getBytes(StandardCharsets.ISO_8859_1));
+        final RuntimeException expected = assertThrows(RuntimeException.class, () -> ArtisanSyntaxNode.generate(new ArtisanTokenizer(trailing)));
+        final RuntimeException actual = assertThrows(RuntimeException.class, () -> ArtisanSyntaxNode.generateLazy(trailing));
+        assertEquals(expected.getMessage(), actual.getMessage());
+
+        final ByteBuffer body = ByteBuffer.wrap("~A\n@Bad: Meta: Data\nentry\n~A\n".getBytes(StandardCharsets.ISO_8859_1));
+        final ArtisanSyntaxNode lazy = assertDoesNotThrow(() -> ArtisanSyntaxNode.generateLazy(body));
+        final ArtisanSyntaxNode container = lazy.iterator().next();
+        assertThrows(IllegalArgumentException.class, container::iterator);
+        assertThrows(IllegalArgumentException.class, container::iterator);
+    }
+
     private static List<ArtisanParseToken> tokenize(String file) {
         final List<ArtisanParseToken> tokens = new ArrayList<>();
         final var tokenizer = new ArtisanTokenizer(TestUtil.readResource(file));
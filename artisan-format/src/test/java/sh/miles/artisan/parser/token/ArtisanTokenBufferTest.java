@@ -0,0 +1,64 @@
+package sh.miles.artisan.parser.token;
+
+import org.junit.jupiter.api.Test;
+import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.parser.node.ArtisanSyntaxNode;
+import sh.miles.artisan.parser.token.ArtisanParseToken.ArtisanTokenType;
+import sh.miles.artisan.util.TestUtil;
+import sh.miles.artisan.util.metrics.ArtisanMetrics;
+import sh.miles.artisan.util.metrics.ArtisanMetricsSnapshot;
+import sh.miles.artisan.util.metrics.ArtisanRecordingMetrics;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtisanTokenBufferTest {
+
+    public static final String FILE = "parser/token/success-test.ajex";
+
+    @Test
+    public void testAsTokensMatchesTokenize() {
+        final List<ArtisanParseToken> expected = ArtisanFormat.tokenize(TestUtil.readResource(FILE));
+        final ArtisanTokenBuffer buffer = ArtisanFormat.tokenizeToBuffer(TestUtil.readResource(FILE));
+        assertEquals(expected.size(), buffer.size());
+        assertEquals(expected, buffer.asTokens());
+    }
+
+    @Test
+    public void testCursor() {
+        final ArtisanTokenBuffer buffer = new ArtisanTokenBuffer(1);
+        buffer.add(new ArtisanParseToken(0, "AT", ArtisanTokenType.OPEN));
+        buffer.add(new ArtisanParseToken(1, "public sh/miles/Example field", ArtisanTokenType.ENTRY));
+        buffer.add(new ArtisanParseToken(2, "AT", ArtisanTokenType.CLOSE));
+
+        final ArtisanTokenBuffer.Cursor cursor = buffer.cursor();
+        assertThrows(NoSuchElementException.class, cursor::type);
+        assertTrue(cursor.next());
+        assertEquals(ArtisanTokenType.OPEN, cursor.type());
+        assertEquals("AT", cursor.segment());
+        assertTrue(cursor.next());
+        assertEquals("public sh/miles/Example field", cursor.content().toString());
+        assertTrue(cursor.next());
+        assertEquals(ArtisanTokenType.CLOSE, cursor.type());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testGenerateFromBuffer() {
+        final ArtisanSyntaxNode expected = ArtisanFormat.asTree(TestUtil.readResource(FILE));
+        assertEquals(expected, ArtisanSyntaxNode.generate(ArtisanFormat.tokenizeToBuffer(TestUtil.readResource(FILE))));
+    }
+
+    @Test
+    public void testRecordsMetrics() {
+        final ArtisanRecordingMetrics metrics = new ArtisanRecordingMetrics();
+        final ArtisanTokenBuffer buffer = ArtisanFormat.tokenizeToBuffer(TestUtil.readResource(FILE), metrics);
+        ArtisanFormat.asTree(buffer, metrics);
+
+        final ArtisanMetricsSnapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.timer(ArtisanMetrics.FORMAT_TOKENIZE).count());
+        assertEquals(1, snapshot.timer(ArtisanMetrics.FORMAT_TREE).count());
+    }
+}
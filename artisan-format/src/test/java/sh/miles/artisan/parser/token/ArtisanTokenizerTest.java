@@ -1,8 +1,19 @@
 package sh.miles.artisan.parser.token;
 
 import org.junit.jupiter.api.Test;
+import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.parser.token.ArtisanParseToken.ArtisanTokenType;
 import sh.miles.artisan.util.TestUtil;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ArtisanTokenizerTest {
@@ -42,4 +53,63 @@ public class ArtisanTokenizerTest {
         final ArtisanTokenizer tokenizer = new ArtisanTokenizer(TestUtil.readResource("parser/token/success-test.ajax"));
         assertThrows(UnsupportedOperationException.class, tokenizer::remove);
     }
+
+    @Test
+    public void testTokenizeAcrossBufferBoundaries() {
+        final StringBuilder content = new StringBuilder("@Version: 1.0.0\r\n\r\n~AT\r\n");
+        final int entries = 5000;
+        for (int i = 0; i < entries; i++) {
+            content.append("public sh/miles/Example field").append(i).append("\r\n");
+        }
+        content.append("~AT");
+
+        final ArtisanTokenizer tokenizer = new ArtisanTokenizer(new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.ISO_8859_1)));
+        assertEquals(new ArtisanParseToken(0, "Version: 1.0.0", ArtisanTokenType.META), tokenizer.next());
+        assertEquals(new ArtisanParseToken(1, "AT", ArtisanTokenType.OPEN), tokenizer.next());
+        for (int i = 0; i < entries; i++) {
+            assertEquals("public sh/miles/Example field" + i, tokenizer.next().segment());
+        }
+        assertEquals(new ArtisanParseToken(entries + 2, "AT", ArtisanTokenType.CLOSE), tokenizer.next());
+        assertFalse(tokenizer.hasNext());
+    }
+
+    @Test
+    public void testTokenizeContentIsZeroCopy() throws IOException {
+        final byte[] bytes = TestUtil.readResource("parser/token/success-test.ajex").readAllBytes();
+        assertFalse(new String(bytes, StandardCharsets.ISO_8859_1).contains("\r"));
+        final ArtisanTokenizer streamed = new ArtisanTokenizer(new ByteArrayInputStream(bytes));
+        final ArtisanTokenizer viewed = new ArtisanTokenizer(ByteBuffer.wrap(bytes));
+        while (streamed.hasNext()) {
+            final ArtisanParseToken token = viewed.next();
+            assertEquals(streamed.next(), token);
+            assertInstanceOf(ArtisanSegment.class, token.content());
+            final ArtisanParseToken materialized = new ArtisanParseToken(token.id(), token.segment(), token.tokenType());
+            assertEquals(materialized, token);
+            assertEquals(materialized.hashCode(), token.hashCode());
+        }
+        assertFalse(viewed.hasNext());
+    }
+
+    @Test
+    public void testTokenizeMappedFile() throws IOException {
+        final StringBuilder content = new StringBuilder("# mapped\n~AT\n");
+        while (content.length() < ArtisanFormat.MAPPED_READ_THRESHOLD) {
+            content.append("public sh/miles/Example doThing()V\n");
+        }
+        content.append("~AT\n");
+
+        final Path file = Files.createTempFile("artisan-mapped", ArtisanFormat.FILE_EXTENSION);
+        try {
+            Files.writeString(file, content, StandardCharsets.ISO_8859_1);
+            final List<ArtisanParseToken> expected = new ArrayList<>();
+            final ArtisanTokenizer tokenizer = new ArtisanTokenizer(new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.ISO_8859_1)));
+            while (tokenizer.hasNext()) {
+                expected.add(tokenizer.next());
+            }
+
+            assertEquals(expected, ArtisanFormat.tokenize(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
 }
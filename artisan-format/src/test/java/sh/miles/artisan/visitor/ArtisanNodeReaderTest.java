@@ -2,7 +2,15 @@ package sh.miles.artisan.visitor;
 
 import org.junit.jupiter.api.Test;
 import sh.miles.artisan.ArtisanFormat;
+import sh.miles.artisan.parser.node.ArtisanSyntaxNode;
+import sh.miles.artisan.parser.node.MetadataArtisanSyntaxNode;
 import sh.miles.artisan.util.TestUtil;
+import sh.miles.artisan.util.stream.StringInputStream;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,4 +43,80 @@ public class ArtisanNodeReaderTest {
         assertFalse(reader.getLiterals("AT").isEmpty());
         assertTrue(reader.getLiterals("ThisFunctionContentDoesNotExist").isEmpty());
     }
+
+    @Test
+    public void testIndexedReaderMatches() {
+        final var root = ArtisanFormat.asTree(TestUtil.readResource(FILE));
+        final var reader = new ArtisanNodeReader(root);
+        final var indexed = ArtisanNodeReader.indexed(root);
+        assertTrue(indexed.isIndexed());
+        assertEquals(reader.getContainers(), indexed.getContainers());
+        for (final String container : reader.getContainers()) {
+            if (container == null) continue;
+            assertEquals(reader.getLiterals(container), indexed.getLiterals(container));
+            assertSame(indexed.getLiterals(container), indexed.getLiterals(container));
+        }
+        assertEquals(reader.getMetaValue("Version", false), indexed.getMetaValue("Version", false));
+        assertEquals(reader.getMetaValue("Inheritable", true), indexed.getMetaValue("Inheritable", true));
+        assertTrue(indexed.getLiterals("ThisFunctionContentDoesNotExist").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> indexed.getLiterals("AT").clear());
+    }
+
+    @Test
+    public void testDeepMetadataIndexMatchesScan() {
+        final String content = """
+                @Version: 1.0.0
+                ~AT
+                @Side: client
+                @Since: 1.0.0
+                public a/A one
+                @Side: server
+                public a/A two
+                ~AT
+                ~Other
+                @Side: client
+                @Side: common
+                public b/B three
+                public b/B four
+                ~Other
+                """;
+        final var root = ArtisanFormat.asTree(new StringInputStream(content));
+        final var reader = new ArtisanNodeReader(root);
+        assertEquals(scan(root, "Side"), reader.getMetaValue("Side", true));
+        assertEquals(scan(root, "Since"), reader.getMetaValue("Since", true));
+        assertEquals(5, reader.getAllMetadataValues(true).size());
+
+        final var sided = reader.getLiteralsWithMetadata("Side");
+        assertEquals(3, sided.size());
+        assertEquals("public a/A one", sided.get(0).literal);
+        assertEquals("public b/B three", sided.get(2).literal);
+        assertEquals(2, reader.getLiteralsWithMetadata("Side", "client").size());
+        assertEquals("public a/A two", reader.getLiteralsWithMetadata("Side", "server").getFirst().literal);
+        assertTrue(reader.getLiteralsWithMetadata("Missing").isEmpty());
+
+        final var indexed = ArtisanNodeReader.indexed(root);
+        assertEquals(sided, indexed.getLiteralsWithMetadata("Side"));
+        assertEquals(reader.getMetaValue("Since", true), indexed.getMetaValue("Since", true));
+
+        final var first = sided.getFirst();
+        final List<ArtisanSyntaxNode> metadata = new ArrayList<>();
+        first.forEach(metadata::add);
+        metadata.forEach(first::removeChild);
+        assertEquals(2, reader.getLiteralsWithMetadata("Side").size());
+        assertNull(reader.getMetaValue("Since", true));
+        assertEquals(4, reader.getAllMetadataValues(true).size());
+    }
+
+    private static String scan(final ArtisanSyntaxNode root, final String key) {
+        final Deque<ArtisanSyntaxNode> toVisit = new ArrayDeque<>();
+        toVisit.push(root);
+        while (!toVisit.isEmpty()) {
+            final ArtisanSyntaxNode next = toVisit.pop();
+            if (next instanceof MetadataArtisanSyntaxNode meta && meta.key.equals(key)) return meta.value;
+            for (final ArtisanSyntaxNode child : next) {
+                toVisit.push(child);
+            }
+        }
+        return null;
+    }
 }